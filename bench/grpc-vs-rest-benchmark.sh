@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# Сравнение задержек REST (HTTP/1.1 + JSON) и gRPC (HTTP/2 + Protobuf) на одинаковых операциях:
+# получение одной задачи и пачки задач по идентификаторам.
+#
+# Использование:
+#   docker-compose up -d
+#   bench/grpc-vs-rest-benchmark.sh [количество запросов] [параллельность]
+#
+# Нужны ghz (https://ghz.sh) и hey (https://github.com/rakyll/hey).
+# Результаты дописываются в bench_output.txt в корне проекта.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+REQUESTS="${1:-20000}"
+CONCURRENCY="${2:-32}"
+REST_URL="http://localhost:8080/tasks"
+GRPC_ADDRESS="localhost:9090"
+PROTO="src/main/proto/task_service.proto"
+OUTPUT="bench_output.txt"
+BATCH_SIZE=50
+
+for tool in ghz hey curl; do
+    if ! command -v "$tool" > /dev/null; then
+        echo "Не найдена утилита $tool" >&2
+        exit 1
+    fi
+done
+
+# Тестовые задачи создаются через REST, их идентификаторы используются в обоих прогонах.
+# Идентификаторы 64-битные, поэтому извлекаются как строки, а не через JSON-парсер с double.
+ids=()
+for ((i = 0; i < BATCH_SIZE; i++)); do
+    ids+=("$(curl -sf -X POST "$REST_URL" -H 'Content-Type: application/json' \
+        -d "{\"title\":\"bench-$i\",\"description\":\"grpc vs rest\",\"userId\":1,\"status\":\"NEW\"}" | sed -E 's/.*"id":([0-9]+).*/\1/')")
+done
+first_id="${ids[0]}"
+ids_csv=$(IFS=,; echo "${ids[*]}")
+ids_json=$(printf '"%s",' "${ids[@]}")
+ids_json="[${ids_json%,}]"
+
+# Из отчета hey берутся средняя задержка, p50, p99 и пропускная способность.
+rest_summary() {
+    awk '/Average:/ {avg=$2} /50%/ {p50=$3} /99%/ {p99=$3} /Requests\/sec:/ {rps=$2}
+         END {printf "avg=%.2fms p50=%.2fms p99=%.2fms rps=%.0f\n", avg*1000, p50*1000, p99*1000, rps}'
+}
+
+# Из отчета ghz берутся те же показатели.
+grpc_summary() {
+    awk '/Average:/ {avg=$2} /50 % in/ {p50=$3} /99 % in/ {p99=$3} /Requests\/sec:/ {rps=$2}
+         END {printf "avg=%s p50=%s p99=%s rps=%.0f\n", avg, p50, p99, rps}'
+}
+
+echo "# $(date -Iseconds) REST vs gRPC (requests=$REQUESTS, concurrency=$CONCURRENCY, batch=$BATCH_SIZE)" | tee -a "$OUTPUT"
+
+echo "rest get: $(hey -n "$REQUESTS" -c "$CONCURRENCY" "$REST_URL/$first_id" | rest_summary)" | tee -a "$OUTPUT"
+echo "grpc get: $(ghz --insecure --proto "$PROTO" -n "$REQUESTS" -c "$CONCURRENCY" \
+    --call tplus.tasks.v1.TaskGrpcService/GetTask -d "{\"id\":\"$first_id\"}" "$GRPC_ADDRESS" | grpc_summary)" | tee -a "$OUTPUT"
+
+echo "rest batch get: $(hey -n "$REQUESTS" -c "$CONCURRENCY" "$REST_URL?ids=$ids_csv" | rest_summary)" | tee -a "$OUTPUT"
+echo "grpc batch get: $(ghz --insecure --proto "$PROTO" -n "$REQUESTS" -c "$CONCURRENCY" \
+    --call tplus.tasks.v1.TaskGrpcService/BatchGetTasks -d "{\"ids\":$ids_json}" "$GRPC_ADDRESS" | grpc_summary)" | tee -a "$OUTPUT"
+
+for id in "${ids[@]}"; do
+    curl -sf -o /dev/null -X DELETE "$REST_URL/$id" || true
+done
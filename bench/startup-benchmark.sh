@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+# Замер времени от запуска JVM до первого успешного ответа GET /tasks для каждого режима старта.
+#
+# Использование:
+#   mvn -Pfast-startup clean package -DskipTests
+#   docker-compose up -d db t_plus_zookeeper t_plus_broker
+#   bench/startup-benchmark.sh [количество прогонов]
+#
+# Результаты дописываются в bench_output.txt в корне проекта.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+JAR="target/taskManager-crud-0.0.1-SNAPSHOT.jar"
+WORK_DIR="target/startup-bench"
+URL="http://localhost:8080/tasks"
+OUTPUT="bench_output.txt"
+
+if [[ ! -f "$JAR" ]]; then
+    echo "Не найден $JAR, выполните: mvn -Pfast-startup clean package -DskipTests" >&2
+    exit 1
+fi
+
+# Схема должна быть применена до замеров: профиль fast-startup миграции только проверяет.
+java -Dspring.context.exit=onRefresh -jar "$JAR" > /dev/null
+
+rm -rf "$WORK_DIR"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK_DIR"
+java -XX:ArchiveClassesAtExit="$WORK_DIR/app.jsa" \
+    -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.profiles.active=fast-startup \
+    -Dspring.flyway.enabled=false \
+    -jar "$WORK_DIR/app.jar" > /dev/null
+
+declare -A MODES=(
+    [default]="java -jar $JAR"
+    [fast-startup]="java -Dspring.profiles.active=fast-startup -jar $JAR"
+    [fast-startup-aot]="java -Dspring.profiles.active=fast-startup -Dspring.aot.enabled=true -jar $JAR"
+    [fast-startup-aot-cds]="java -XX:SharedArchiveFile=$WORK_DIR/app.jsa -Dspring.profiles.active=fast-startup -Dspring.aot.enabled=true -jar $WORK_DIR/app.jar"
+)
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local command="$1"
+    local start pid
+    start=$(now_ms)
+    $command > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "процесс завершился до первого ответа" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    echo $(($(now_ms) - start))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+}
+
+echo "# $(date -Iseconds) time-to-first-request, ms (runs=$RUNS)" | tee -a "$OUTPUT"
+for mode in default fast-startup fast-startup-aot fast-startup-aot-cds; do
+    results=()
+    for ((i = 0; i < RUNS; i++)); do
+        results+=("$(measure "${MODES[$mode]}")")
+    done
+    sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+    echo "$mode: min=${sorted[0]} median=${sorted[$((RUNS / 2))]} max=${sorted[$((RUNS - 1))]}" | tee -a "$OUTPUT"
+done
@@ -0,0 +1,111 @@
+package org.tplus.taskManager.taskManager_crud.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.tplus.taskManager.taskManager_crud.limiter.AdaptiveConcurrencyLimiter;
+import org.tplus.taskManager.taskManager_crud.limiter.AdmissionControlFilter;
+import org.tplus.taskManager.taskManager_crud.limiter.AdmissionControlProperties;
+
+/**
+ * Конфигурационный класс ограничения конкурентности запросов к {@link org.tplus.taskManager.taskManager_crud.controllers.TaskController}.
+ * <p>
+ * Создает ограничители для точечного чтения, чтения списка и изменения, регистрирует {@link AdmissionControlFilter}
+ * и публикует состояние ограничителей в виде метрик {@code admission.limit}, {@code admission.in_flight}
+ * и {@code admission.rejected} с тегом {@code class}.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+@ConditionalOnProperty(value = "admission-control.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    /**
+     * Создает ограничитель запросов на чтение.
+     *
+     * @param properties    настройки ограничения
+     * @param meterRegistry реестр метрик
+     * @return ограничитель чтения
+     */
+    @Bean("readLimiter")
+    public AdaptiveConcurrencyLimiter readLimiter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        return registerMetrics(new AdaptiveConcurrencyLimiter(properties.getReads()), "reads", meterRegistry);
+    }
+
+    /**
+     * Создает ограничитель чтения всего списка задач.
+     *
+     * @param properties    настройки ограничения
+     * @param meterRegistry реестр метрик
+     * @return ограничитель чтения списка
+     */
+    @Bean("listLimiter")
+    public AdaptiveConcurrencyLimiter listLimiter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        return registerMetrics(new AdaptiveConcurrencyLimiter(properties.getLists()), "lists", meterRegistry);
+    }
+
+    /**
+     * Создает ограничитель запросов на изменение.
+     *
+     * @param properties    настройки ограничения
+     * @param meterRegistry реестр метрик
+     * @return ограничитель изменений
+     */
+    @Bean("writeLimiter")
+    public AdaptiveConcurrencyLimiter writeLimiter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        return registerMetrics(new AdaptiveConcurrencyLimiter(properties.getWrites()), "writes", meterRegistry);
+    }
+
+    /**
+     * Регистрирует фильтр допуска для эндпоинтов задач.
+     *
+     * @param readLimiter  ограничитель точечного чтения
+     * @param listLimiter  ограничитель чтения списка
+     * @param writeLimiter ограничитель изменений
+     * @param properties   настройки ограничения
+     * @return регистрация фильтра
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            @Qualifier("readLimiter") AdaptiveConcurrencyLimiter readLimiter,
+            @Qualifier("listLimiter") AdaptiveConcurrencyLimiter listLimiter,
+            @Qualifier("writeLimiter") AdaptiveConcurrencyLimiter writeLimiter,
+            AdmissionControlProperties properties) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(readLimiter, listLimiter, writeLimiter, properties));
+        registration.addUrlPatterns("/tasks", "/tasks/*");
+        return registration;
+    }
+
+    /**
+     * Публикует состояние ограничителя в реестре метрик.
+     *
+     * @param limiter       ограничитель
+     * @param endpointClass класс запросов (reads, lists или writes)
+     * @param meterRegistry реестр метрик
+     * @return тот же ограничитель
+     */
+    private AdaptiveConcurrencyLimiter registerMetrics(AdaptiveConcurrencyLimiter limiter, String endpointClass,
+                                                       MeterRegistry meterRegistry) {
+        Gauge.builder("admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("class", endpointClass)
+                .register(meterRegistry);
+        Gauge.builder("admission.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("class", endpointClass)
+                .register(meterRegistry);
+        FunctionCounter.builder("admission.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .tag("class", endpointClass)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
@@ -0,0 +1,72 @@
+package org.tplus.taskManager.taskManager_crud.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.tplus.taskManager.taskManager_crud.kafka.KafkaClientProducer;
+
+import java.util.List;
+
+/**
+ * Конфигурация профиля {@code fast-startup}, сокращающего время запуска экземпляра.
+ * <p>
+ * Вместо применения миграций при старте выполняется только их проверка, а бины отправки
+ * (Kafka-продюсер и почтовый клиент) создаются при первом обращении. Бины потребителей Kafka
+ * остаются неленивыми: слушатели должны быть зарегистрированы сразу после запуска.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    /**
+     * Типы бинов, которые безопасно инициализировать лениво:
+     * все точки их внедрения помечены {@code @Lazy}.
+     */
+    private static final List<Class<?>> LAZY_BEAN_TYPES = List.of(
+            KafkaClientProducer.class,
+            KafkaTemplate.class,
+            ProducerFactory.class,
+            JavaMailSender.class
+    );
+
+    /**
+     * Проверяет, что все миграции уже применены, и завершает запуск с ошибкой, если это не так.
+     *
+     * @return стратегия миграции, выполняющая только валидацию
+     */
+    @Bean
+    public FlywayMigrationStrategy validateOnlyMigrationStrategy() {
+        return flyway -> {
+            flyway.validate();
+            log.info("Схема БД соответствует миграциям, применение миграций при старте пропущено");
+        };
+    }
+
+    /**
+     * Помечает бины отправки сообщений как ленивые.
+     *
+     * @return постпроцессор определений бинов
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazySenderBeansPostProcessor() {
+        return beanFactory -> {
+            for (Class<?> type : LAZY_BEAN_TYPES) {
+                for (String name : beanFactory.getBeanNamesForType(type, true, false)) {
+                    beanFactory.getBeanDefinition(name).setLazyInit(true);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package org.tplus.taskManager.taskManager_crud.config;
+
+import io.grpc.BindableService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.tplus.taskManager.taskManager_crud.grpc.GrpcServerLifecycle;
+import org.tplus.taskManager.taskManager_crud.grpc.GrpcServerProperties;
+import org.tplus.taskManager.taskManager_crud.grpc.TaskGrpcServiceImpl;
+import org.tplus.taskManager.taskManager_crud.mapper.TaskMapper;
+import org.tplus.taskManager.taskManager_crud.services.TaskLookupService;
+import org.tplus.taskManager.taskManager_crud.services.TaskService;
+
+import java.util.List;
+
+/**
+ * Конфигурационный класс gRPC API задач.
+ * <p>
+ * Включается свойством {@code grpc-server.enabled} и поднимает отдельный сервер на порту
+ * {@code grpc-server.port}, параллельно с HTTP-сервером.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Configuration
+@ConditionalOnProperty(value = "grpc-server.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(GrpcServerProperties.class)
+public class GrpcConfig {
+
+    @Bean
+    public TaskGrpcServiceImpl taskGrpcService(TaskService taskService,
+                                               TaskLookupService taskLookupService,
+                                               TaskMapper taskMapper,
+                                               GrpcServerProperties properties) {
+        return new TaskGrpcServiceImpl(taskService, taskLookupService, taskMapper, properties);
+    }
+
+    @Bean
+    public GrpcServerLifecycle grpcServerLifecycle(List<BindableService> services, GrpcServerProperties properties) {
+        return new GrpcServerLifecycle(services, properties);
+    }
+}
@@ -1,25 +1,40 @@
 package org.tplus.taskManager.taskManager_crud.config;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.CommonErrorHandler;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.ExponentialBackOff;
 import org.springframework.util.backoff.FixedBackOff;
+import org.tplus.taskManager.taskManager_crud.dto.TaskCommandDto;
 import org.tplus.taskManager.taskManager_crud.dto.TaskStatusUpdateDto;
+import org.tplus.taskManager.taskManager_crud.kafka.KafkaCircuitBreaker;
+import org.tplus.taskManager.taskManager_crud.kafka.KafkaCircuitBreakerProperties;
 import org.tplus.taskManager.taskManager_crud.kafka.KafkaClientProducer;
+import org.tplus.taskManager.taskManager_crud.kafka.KafkaSpillBuffer;
+import org.tplus.taskManager.taskManager_crud.kafka.TaskPipelineTracing;
+import org.tplus.taskManager.taskManager_crud.services.TaskCommandProperties;
+import org.tplus.taskManager.taskManager_crud.services.TransientErrors;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -39,6 +54,7 @@ import java.util.Map;
  */
 @Slf4j
 @Configuration
+@EnableConfigurationProperties({KafkaCircuitBreakerProperties.class, TaskCommandProperties.class})
 public class KafkaConfig {
 
     /**
@@ -77,6 +93,24 @@ public class KafkaConfig {
     @Value("${t_plus_tasks.kafka.max.poll.interval.ms:3000}")
     private String maxPollIntervalsMs;
 
+    /**
+     * Максимальное время блокировки send() продюсера в ожидании метаданных или места в буфере.
+     */
+    @Value("${t_plus_tasks.kafka.max.block.ms:2000}")
+    private String maxBlockMs;
+
+    /**
+     * Таймаут ответа брокера на запрос продюсера.
+     */
+    @Value("${t_plus_tasks.kafka.request.timeout.ms:5000}")
+    private String requestTimeoutMs;
+
+    /**
+     * Максимальное время доставки сообщения с учетом повторов, после которого отправка считается неудачной.
+     */
+    @Value("${t_plus_tasks.kafka.delivery.timeout.ms:10000}")
+    private String deliveryTimeoutMs;
+
     /**
      * Топик по умолчанию для продюсера.
      */
@@ -90,8 +124,22 @@ public class KafkaConfig {
      * @param <T>      тип сообщения
      * @return фабрика для создания Kafka-потребителей
      */
-    @Bean
     public <T> ConsumerFactory<String, T> createConsumerFactory(Class<T> dtoClass) {
+        return consumerFactory(dtoClass);
+    }
+
+    /**
+     * Собирает ConsumerFactory для обработки сообщений типа T.
+     * <p>
+     * Вызывается напрямую, а не через прокси конфигурации, поэтому для каждого типа сообщения
+     * создается своя фабрика.
+     * </p>
+     *
+     * @param dtoClass класс ожидаемого типа сообщения
+     * @param <T>      тип сообщения
+     * @return фабрика для создания Kafka-потребителей
+     */
+    private <T> ConsumerFactory<String, T> consumerFactory(Class<T> dtoClass) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, servers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
@@ -132,6 +180,54 @@ public class KafkaConfig {
         return factory;
     }
 
+    /**
+     * Создает фабрику контейнеров для слушателя команд записи задач {@link TaskCommandDto}.
+     * <p>
+     * Настройки контейнера те же, что у {@link #kafkaListenerContainerFactory(ConsumerFactory)},
+     * кроме типа сообщений и обработчика ошибок: принятая клиентом команда не должна теряться, поэтому
+     * при недоступности базы данных пачка повторяется без ограничения числа попыток с растущей паузой,
+     * а команда, которую не удалось применить по другой причине, после
+     * {@link TaskCommandProperties#getMaxFailedAttempts()} попыток отправляется в топик
+     * {@code <topic>.DLT}, откуда ее можно разобрать и переотправить.
+     * </p>
+     *
+     * @param template   KafkaTemplate для отправки в топик недоставленных команд
+     * @param properties настройки асинхронной записи
+     * @return фабрика контейнеров
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, TaskCommandDto> taskCommandListenerContainerFactory(
+            @Lazy @Qualifier("taskStatusKafkaTemplate") KafkaTemplate<String, Object> template,
+            TaskCommandProperties properties) {
+        ConcurrentKafkaListenerContainerFactory<String, TaskCommandDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factoryBuilder(consumerFactory(TaskCommandDto.class), factory);
+        factory.setCommonErrorHandler(commandErrorHandler(template, properties));
+        return factory;
+    }
+
+    /**
+     * Создает фабрику контейнеров для слушателя потока {@code GET /tasks/stream}.
+     * <p>
+     * Слушатель потока читает топик в одноразовой группе, поэтому offset'ы не фиксируются вовсе:
+     * подтверждение ручное и не вызывается, начальная позиция при назначении партиций не фиксируется,
+     * а пропущенная после ошибки пачка не подтверждается. Иначе каждый перезапуск оставлял бы
+     * в брокере новую группу с offset'ами.
+     * </p>
+     *
+     * @return фабрика контейнеров
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, TaskStatusUpdateDto> taskStreamListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, TaskStatusUpdateDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factoryBuilder(consumerFactory(TaskStatusUpdateDto.class), factory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAssignmentCommitOption(ContainerProperties.AssignmentCommitOption.NEVER);
+        DefaultErrorHandler handler = new DefaultErrorHandler(new FixedBackOff(0, 0));
+        handler.setAckAfterHandle(false);
+        factory.setCommonErrorHandler(handler);
+        return factory;
+    }
+
     /**
      * Настраивает обработчик ошибок для потребителей Kafka.
      *
@@ -147,6 +243,33 @@ public class KafkaConfig {
         return handler;
     }
 
+    /**
+     * Настраивает обработчик ошибок слушателя команд.
+     *
+     * @param template   KafkaTemplate для отправки в топик недоставленных команд
+     * @param properties настройки асинхронной записи
+     * @return обработчик ошибок
+     */
+    private CommonErrorHandler commandErrorHandler(KafkaTemplate<String, Object> template, TaskCommandProperties properties) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(template,
+                (record, ex) -> new TopicPartition(record.topic() + ".DLT", -1));
+        DefaultErrorHandler handler = new DefaultErrorHandler(recoverer,
+                new FixedBackOff(properties.getRetryInitialInterval().toMillis(), properties.getMaxFailedAttempts()));
+        handler.setBackOffFunction((record, ex) -> {
+            if (!TransientErrors.isTransient(ex)) {
+                return null;
+            }
+            ExponentialBackOff backOff = new ExponentialBackOff(properties.getRetryInitialInterval().toMillis(), 2.0);
+            backOff.setMaxInterval(properties.getRetryMaxInterval().toMillis());
+            return backOff;
+        });
+        handler.setRetryListeners((record, ex, deliveryAttempt) -> {
+            log.error("Command RetryListeners message = {}, offset = {}, deliveryAttempt = {}",
+                    ex.getMessage(), record.offset(), deliveryAttempt);
+        });
+        return handler;
+    }
+
     /**
      * Настраивает параметры фабрики контейнеров.
      *
@@ -184,9 +307,50 @@ public class KafkaConfig {
      */
     @Bean
     @ConditionalOnProperty(value = "t1.kafka.producer.enable", havingValue = "true", matchIfMissing = true)
-    public KafkaClientProducer producerClient(@Qualifier("taskStatusKafkaTemplate") KafkaTemplate<String, TaskStatusUpdateDto> template) {
+    public KafkaClientProducer producerClient(@Qualifier("taskStatusKafkaTemplate") KafkaTemplate<String, TaskStatusUpdateDto> template,
+                                              KafkaCircuitBreaker circuitBreaker,
+                                              KafkaSpillBuffer spillBuffer,
+                                              KafkaCircuitBreakerProperties circuitBreakerProperties,
+                                              TaskPipelineTracing tracing) {
         template.setDefaultTopic(clientTopic);
-        return new KafkaClientProducer(template);
+        return new KafkaClientProducer(template, circuitBreaker, spillBuffer, circuitBreakerProperties, tracing);
+    }
+
+    /**
+     * Создает автоматический выключатель отправки в Kafka и регистрирует метрику его состояния
+     * {@code kafka.producer.circuit.state} (0 — замкнут, 1 — разомкнут, 2 — полуоткрыт).
+     *
+     * @param properties    настройки выключателя
+     * @param meterRegistry реестр метрик
+     * @return автоматический выключатель
+     */
+    @Bean
+    public KafkaCircuitBreaker kafkaCircuitBreaker(KafkaCircuitBreakerProperties properties, MeterRegistry meterRegistry) {
+        KafkaCircuitBreaker circuitBreaker = new KafkaCircuitBreaker(properties);
+        Gauge.builder("kafka.producer.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Состояние выключателя отправки в Kafka: 0 - CLOSED, 1 - OPEN, 2 - HALF_OPEN")
+                .register(meterRegistry);
+        return circuitBreaker;
+    }
+
+    /**
+     * Создает буфер неотправленных сообщений и регистрирует метрики {@code kafka.producer.spill.size}
+     * и {@code kafka.producer.spill.dropped}.
+     *
+     * @param properties    настройки буфера
+     * @param meterRegistry реестр метрик
+     * @return буфер неотправленных сообщений
+     */
+    @Bean
+    public KafkaSpillBuffer kafkaSpillBuffer(KafkaCircuitBreakerProperties properties, MeterRegistry meterRegistry) {
+        KafkaSpillBuffer spillBuffer = new KafkaSpillBuffer(properties.getSpillCapacity());
+        Gauge.builder("kafka.producer.spill.size", spillBuffer, KafkaSpillBuffer::size)
+                .description("Сообщения, ожидающие повторной отправки в Kafka")
+                .register(meterRegistry);
+        FunctionCounter.builder("kafka.producer.spill.dropped", spillBuffer, KafkaSpillBuffer::getDropped)
+                .description("Сообщения, вытесненные из переполненного буфера")
+                .register(meterRegistry);
+        return spillBuffer;
     }
 
     /**
@@ -212,6 +376,11 @@ public class KafkaConfig {
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false);
+        // подтверждение отправки означает запись во все синхронные реплики
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+        props.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, requestTimeoutMs);
+        props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
         return new DefaultKafkaProducerFactory<>(props);
     }
 }
@@ -0,0 +1,25 @@
+package org.tplus.taskManager.taskManager_crud.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.tplus.taskManager.taskManager_crud.overdue.TaskOverdueProperties;
+import org.tplus.taskManager.taskManager_crud.services.TaskArchiveProperties;
+import org.tplus.taskManager.taskManager_crud.services.TaskDeleteProperties;
+
+/**
+ * Конфигурационный класс для фоновых задач по расписанию.
+ * <p>
+ * Включает обработку аннотаций {@code @Scheduled} и загрузку свойств с префиксами {@code task-archive},
+ * {@code task-delete} и {@code task-overdue}.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({TaskArchiveProperties.class, TaskDeleteProperties.class, TaskOverdueProperties.class})
+public class SchedulingConfig {
+}
@@ -0,0 +1,168 @@
+package org.tplus.taskManager.taskManager_crud.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.tplus.taskManager.taskManager_crud.sharding.ReshardingService;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardDataSources;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardOverrideStore;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardRouter;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardRoutingAspect;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardRoutingDataSource;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardingProperties;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Конфигурационный класс режима шардирования задач.
+ * <p>
+ * Создается при {@code task-sharding.enabled=true}: заменяет источник данных на {@link ShardRoutingDataSource}
+ * поверх пулов соединений всех шардов, подключает {@link ShardRoutingAspect} к репозиториям задач
+ * и применяет миграции Flyway ко всем шардам, а не только к шарду 0.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(value = "task-sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /**
+     * Создает пулы соединений для баз всех шардов.
+     *
+     * @param properties настройки шардирования
+     * @return источники данных шардов
+     */
+    @Bean
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("task-sharding.shards must contain at least one shard");
+        }
+        List<DataSource> dataSources = properties.getShards().stream()
+                .map(shard -> (DataSource) DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(shard.getUrl())
+                        .username(shard.getUsername())
+                        .password(shard.getPassword())
+                        .build())
+                .toList();
+        return new ShardDataSources(dataSources);
+    }
+
+    /**
+     * Создает основной источник данных приложения, выбирающий шард по {@link org.tplus.taskManager.taskManager_crud.sharding.ShardContext}.
+     *
+     * @param shardDataSources источники данных шардов
+     * @return маршрутизирующий источник данных
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shardDataSources.dataSources().size(); shard++) {
+            targets.put(shard, shardDataSources.dataSources().get(shard));
+        }
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setTargetDataSources(targets);
+        dataSource.setDefaultTargetDataSource(shardDataSources.dataSources().get(0));
+        return dataSource;
+    }
+
+    /**
+     * Создает маршрутизатор шардов.
+     *
+     * @param properties настройки шардирования
+     * @return маршрутизатор
+     */
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        return new ShardRouter(properties.getShards().size(), properties.getVirtualNodes());
+    }
+
+    /**
+     * Создает аспект маршрутизации вызовов репозиториев.
+     *
+     * @param shardRouter маршрутизатор шардов
+     * @param properties  настройки шардирования
+     * @return аспект
+     */
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(ShardRouter shardRouter, ShardingProperties properties) {
+        return new ShardRoutingAspect(shardRouter, properties.getScatterThreads());
+    }
+
+    /**
+     * Создает хранилище назначений диапазонов пользователей на шарды.
+     *
+     * @param shardDataSources источники данных шардов
+     * @param shardRouter      маршрутизатор шардов
+     * @param properties       настройки шардирования
+     * @return хранилище назначений
+     */
+    @Bean
+    public ShardOverrideStore shardOverrideStore(ShardDataSources shardDataSources, ShardRouter shardRouter,
+                                                 ShardingProperties properties) {
+        return new ShardOverrideStore(shardDataSources, shardRouter, properties);
+    }
+
+    /**
+     * Создает сервис перешардирования.
+     *
+     * @param shardDataSources   источники данных шардов
+     * @param shardRouter        маршрутизатор шардов
+     * @param shardOverrideStore хранилище назначений
+     * @param properties         настройки шардирования
+     * @return сервис перешардирования
+     */
+    @Bean
+    public ReshardingService reshardingService(ShardDataSources shardDataSources, ShardRouter shardRouter,
+                                               ShardOverrideStore shardOverrideStore, ShardingProperties properties) {
+        return new ReshardingService(shardDataSources, shardRouter, shardOverrideStore, properties.getReshardBatchSize(),
+                properties.getOverrideAckTimeout());
+    }
+
+    /**
+     * Применяет миграции к шардам 1..N; шард 0 мигрирует стандартная автоконфигурация Flyway.
+     *
+     * @param shardDataSources  источники данных шардов
+     * @param flywayProperties  настройки Flyway
+     * @param migrationStrategy стратегия миграции, если задана (например, только проверка в профиле fast-startup)
+     * @return инициализатор схем шардов
+     */
+    @Bean
+    public SmartInitializingSingleton shardSchemaInitializer(ShardDataSources shardDataSources,
+                                                             FlywayProperties flywayProperties,
+                                                             ObjectProvider<FlywayMigrationStrategy> migrationStrategy) {
+        return () -> {
+            FlywayMigrationStrategy strategy = migrationStrategy.getIfAvailable(() -> Flyway::migrate);
+            List<DataSource> dataSources = shardDataSources.dataSources();
+            for (int shard = 1; shard < dataSources.size(); shard++) {
+                Flyway flyway = Flyway.configure()
+                        .dataSource(dataSources.get(shard))
+                        .locations(flywayProperties.getLocations().toArray(String[]::new))
+                        .baselineOnMigrate(flywayProperties.isBaselineOnMigrate())
+                        .baselineVersion(flywayProperties.getBaselineVersion())
+                        .load();
+                strategy.migrate(flyway);
+                log.info("Схема шарда {} проверена/обновлена", shard);
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package org.tplus.taskManager.taskManager_crud.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Отключает {@code spring.jpa.open-in-view} в режиме шардирования задач.
+ * <p>
+ * При открытом на весь HTTP-запрос EntityManager соединение берется из {@link
+ * org.tplus.taskManager.taskManager_crud.sharding.ShardRoutingDataSource} при первом обращении к репозиторию
+ * и остается привязанным к запросу, поэтому следующие вызовы выполнялись бы на шарде первого вызова,
+ * а не на выбранном аспектом. Свойство переопределяется с наивысшим приоритетом, поэтому включить его
+ * вместе с {@code task-sharding.enabled=true} нельзя.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ShardingEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.getProperty("task-sharding.enabled", Boolean.class, false)) {
+            environment.getPropertySources().addFirst(
+                    new MapPropertySource("taskSharding", Map.of("spring.jpa.open-in-view", "false")));
+        }
+    }
+}
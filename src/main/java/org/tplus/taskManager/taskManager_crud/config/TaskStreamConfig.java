@@ -0,0 +1,40 @@
+package org.tplus.taskManager.taskManager_crud.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.tplus.taskManager.taskManager_crud.stream.TaskStreamProperties;
+import org.tplus.taskManager.taskManager_crud.stream.TaskStreamService;
+
+/**
+ * Конфигурационный класс потока изменений задач {@code GET /tasks/stream}.
+ * <p>
+ * Загружает свойства с префиксом {@code task-stream} и регистрирует метрики
+ * {@code task.stream.subscribers} и {@code task.stream.dropped}.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Configuration
+@EnableConfigurationProperties(TaskStreamProperties.class)
+public class TaskStreamConfig {
+
+    @Bean
+    public Gauge taskStreamSubscribersGauge(MeterRegistry registry, TaskStreamService taskStreamService) {
+        return Gauge.builder("task.stream.subscribers", taskStreamService, TaskStreamService::getSubscriberCount)
+                .description("Активные подключения к потоку изменений задач")
+                .register(registry);
+    }
+
+    @Bean
+    public FunctionCounter taskStreamDroppedCounter(MeterRegistry registry, TaskStreamService taskStreamService) {
+        return FunctionCounter.builder("task.stream.dropped", taskStreamService, TaskStreamService::getDroppedCount)
+                .description("События, отброшенные из-за переполнения буферов медленных клиентов")
+                .register(registry);
+    }
+}
@@ -0,0 +1,49 @@
+package org.tplus.taskManager.taskManager_crud.controllers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.tplus.logStarter.my_LogStarter.aspects.annotations.LogExecution;
+import org.tplus.logStarter.my_LogStarter.aspects.annotations.LogExecutionTime;
+import org.tplus.taskManager.taskManager_crud.dto.ShardMoveRequestDto;
+import org.tplus.taskManager.taskManager_crud.dto.ShardMoveResultDto;
+import org.tplus.taskManager.taskManager_crud.sharding.ReshardingService;
+
+/**
+ * Служебный контроллер для управления шардами задач.
+ * <p>
+ * Доступен только при {@code task-sharding.enabled=true}.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin/shards")
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "task-sharding.enabled", havingValue = "true")
+public class ShardAdminController {
+    /**
+     * Сервис перешардирования.
+     */
+    private final ReshardingService reshardingService;
+
+    /**
+     * Переносит задачи диапазона пользователей на указанный шард.
+     *
+     * @param request диапазон пользователей и целевой шард
+     * @return количество скопированных и удаленных задач
+     */
+    @PostMapping("/moves")
+    @LogExecution
+    @LogExecutionTime
+    public ShardMoveResultDto moveUsers(@RequestBody ShardMoveRequestDto request) {
+        return reshardingService.moveUsers(request.getFromUserId(), request.getToUserId(), request.getTargetShard());
+    }
+}
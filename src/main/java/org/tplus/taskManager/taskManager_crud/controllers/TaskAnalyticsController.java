@@ -0,0 +1,75 @@
+package org.tplus.taskManager.taskManager_crud.controllers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.tplus.logStarter.my_LogStarter.aspects.annotations.LogExecution;
+import org.tplus.logStarter.my_LogStarter.aspects.annotations.LogExecutionHttp;
+import org.tplus.logStarter.my_LogStarter.aspects.annotations.LogExecutionTime;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatusDailyDto;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatusTimeDto;
+import org.tplus.taskManager.taskManager_crud.services.TaskStatusHistoryService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Контроллер аналитики времени, которое задачи проводят в статусах.
+ *
+ * <p>Ответы строятся по заранее рассчитанным ежедневным агрегатам, журнал смен статуса не читается.
+ * Дни задаются в формате ISO ({@code 2026-10-18}) по UTC.</p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RestController
+@RequestMapping("/tasks/analytics")
+@RequiredArgsConstructor
+public class TaskAnalyticsController {
+    /**
+     * Сервис журнала смен статуса и аналитики.
+     */
+    private final TaskStatusHistoryService taskStatusHistoryService;
+
+    /**
+     * Получает итоги по статусам задач пользователя за период, включая среднее время в статусе.
+     *
+     * @param userId идентификатор пользователя
+     * @param from   первый день периода включительно
+     * @param to     последний день периода включительно
+     * @return итоги по статусам
+     */
+    @GetMapping("/status-time")
+    @LogExecution
+    @LogExecutionTime
+    @LogExecutionHttp
+    public List<TaskStatusTimeDto> getStatusTime(@RequestParam Long userId,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return taskStatusHistoryService.getStatusTime(userId, from, to);
+    }
+
+    /**
+     * Получает ежедневные агрегаты по статусам задач пользователя за период.
+     *
+     * @param userId идентификатор пользователя
+     * @param from   первый день периода включительно
+     * @param to     последний день периода включительно
+     * @return агрегаты по дням и статусам
+     */
+    @GetMapping("/status-time/daily")
+    @LogExecution
+    @LogExecutionTime
+    @LogExecutionHttp
+    public List<TaskStatusDailyDto> getDailyStatusTime(@RequestParam Long userId,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return taskStatusHistoryService.getDailyStatusTime(userId, from, to);
+    }
+}
@@ -0,0 +1,45 @@
+package org.tplus.taskManager.taskManager_crud.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.tplus.logStarter.my_LogStarter.aspects.annotations.LogExecution;
+import org.tplus.logStarter.my_LogStarter.aspects.annotations.LogExecutionHttp;
+import org.tplus.taskManager.taskManager_crud.dto.TaskCommandStatusDto;
+import org.tplus.taskManager.taskManager_crud.services.TaskCommandService;
+
+/**
+ * Контроллер состояния асинхронных команд записи задач.
+ * <p>
+ * Идентификатор команды возвращается в ответе 202 на {@code POST /tasks} и {@code PUT /tasks/{id}},
+ * когда включен режим {@code task-commands.async}.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@RestController
+@RequestMapping("/tasks/commands")
+@RequiredArgsConstructor
+public class TaskCommandController {
+    /**
+     * Сервис асинхронной записи задач.
+     */
+    private final TaskCommandService taskCommandService;
+
+    /**
+     * Получает состояние команды.
+     *
+     * @param commandId идентификатор команды
+     * @return состояние команды
+     */
+    @GetMapping("/{commandId}")
+    @LogExecution
+    @LogExecutionHttp
+    public TaskCommandStatusDto getStatus(@PathVariable Long commandId) {
+        return taskCommandService.getStatus(commandId);
+    }
+}
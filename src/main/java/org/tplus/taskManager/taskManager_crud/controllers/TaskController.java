@@ -1,11 +1,21 @@
 package org.tplus.taskManager.taskManager_crud.controllers;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.tplus.logStarter.my_LogStarter.aspects.annotations.LogExecution;
 import org.tplus.logStarter.my_LogStarter.aspects.annotations.LogExecutionHttp;
 import org.tplus.logStarter.my_LogStarter.aspects.annotations.LogExecutionTime;
+import org.tplus.taskManager.taskManager_crud.dto.TaskCommandStatusDto;
 import org.tplus.taskManager.taskManager_crud.dto.TaskDto;
+import org.tplus.taskManager.taskManager_crud.dto.TaskField;
+import org.tplus.taskManager.taskManager_crud.dto.TaskLookupRequestDto;
+import org.tplus.taskManager.taskManager_crud.dto.TaskLookupResultDto;
+import org.tplus.taskManager.taskManager_crud.dto.TaskView;
+import org.tplus.taskManager.taskManager_crud.services.TaskCommandProperties;
+import org.tplus.taskManager.taskManager_crud.services.TaskCommandService;
+import org.tplus.taskManager.taskManager_crud.services.TaskLookupService;
 import org.tplus.taskManager.taskManager_crud.services.TaskService;
 
 import java.util.List;
@@ -36,19 +46,45 @@ public class TaskController {
      * Сервис для работы с задачами.
      */
     private final TaskService taskService;
+    /**
+     * Сервис получения нескольких задач по идентификаторам.
+     */
+    private final TaskLookupService taskLookupService;
+    /**
+     * Сервис асинхронной записи задач.
+     */
+    private final TaskCommandService taskCommandService;
+    /**
+     * Настройки асинхронной записи задач.
+     */
+    private final TaskCommandProperties taskCommandProperties;
 
     /**
-     * Конструктор контроллера с внедрением зависимости {@link TaskService}.
+     * Конструктор контроллера с внедрением зависимостей.
      *
-     * @param taskService сервис для управления задачами
+     * @param taskService           сервис для управления задачами
+     * @param taskLookupService     сервис получения нескольких задач
+     * @param taskCommandService    сервис асинхронной записи задач
+     * @param taskCommandProperties настройки асинхронной записи задач
      */
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskLookupService taskLookupService,
+                          TaskCommandService taskCommandService, TaskCommandProperties taskCommandProperties) {
         this.taskService = taskService;
+        this.taskLookupService = taskLookupService;
+        this.taskCommandService = taskCommandService;
+        this.taskCommandProperties = taskCommandProperties;
     }
 
     /**
      * Получает список всех задач.
+     * <p>
+     * Архивные задачи возвращаются страницами: следующая страница запрашивается с {@code archivedAfterId},
+     * равным последнему идентификатору архивной задачи в ответе.
+     * </p>
      *
+     * @param includeArchived включать ли в ответ задачи из архива
+     * @param archivedAfterId идентификатор, после которого начинается страница архива
+     * @param archivedLimit   размер страницы архива
      * @return список задач
      */
     @GetMapping
@@ -56,51 +92,165 @@ public class TaskController {
     @LogExecution
     @LogExecutionTime
     @LogExecutionHttp
-    public List<TaskDto> getAllTasks() {
-        return taskService.getAllTasks();
+    public List<TaskDto> getAllTasks(@RequestParam(defaultValue = "false") boolean includeArchived,
+                                     @RequestParam(required = false) Long archivedAfterId,
+                                     @RequestParam(defaultValue = "100") int archivedLimit) {
+        return taskService.getAllTasks(includeArchived, archivedAfterId, archivedLimit);
+    }
+
+    /**
+     * Получает несколько задач по списку идентификаторов, например {@code GET /tasks?ids=1,2,3}.
+     *
+     * @param ids идентификаторы задач
+     * @return найденные задачи в порядке запроса и ненайденные идентификаторы
+     */
+    @GetMapping(params = "ids")
+    @LogExecution
+    @LogExecutionTime
+    @LogExecutionHttp
+    public TaskLookupResultDto getTasksByIds(@RequestParam List<Long> ids) {
+        return taskLookupService.getTasksByIds(ids);
+    }
+
+    /**
+     * Получает несколько задач по списку идентификаторов из тела запроса.
+     * <p>
+     * Вариант {@code GET /tasks?ids=...} для длинных списков, не помещающихся в URL.
+     * </p>
+     *
+     * @param request список идентификаторов
+     * @return найденные задачи в порядке запроса и ненайденные идентификаторы
+     */
+    @PostMapping("/lookup")
+    @LogExecution
+    @LogExecutionTime
+    @LogExecutionHttp
+    public TaskLookupResultDto lookupTasks(@RequestBody TaskLookupRequestDto request) {
+        return taskLookupService.getTasksByIds(request.getIds());
     }
 
     /**
      * Получает задачу по ее идентификатору.
      *
-     * @param id идентификатор задачи
+     * @param id              идентификатор задачи
+     * @param includeArchived искать ли задачу в архиве
      * @return найденная задача
      */
     @GetMapping("/{id}")
     @LogExecution
     @LogExecutionTime
     @LogExecutionHttp
-    public TaskDto getTaskById(@PathVariable Long id) {
-        return taskService.getTaskById(id);
+    public TaskDto getTaskById(@PathVariable Long id, @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return taskService.getTaskById(id, includeArchived);
+    }
+
+    /**
+     * Получает список всех задач, содержащих только перечисленные в {@code fields} поля.
+     * <p>
+     * Поддерживается только для актуальных задач: запрос с {@code includeArchived=true}
+     * отклоняется со статусом 400.
+     * </p>
+     *
+     * @param fields          список полей через запятую, например {@code title,status}
+     * @param includeArchived включать ли задачи из архива
+     * @return список частичных представлений задач
+     */
+    @GetMapping(params = {"fields", "!ids"})
+    @LogExecution
+    @LogExecutionTime
+    @LogExecutionHttp
+    public List<TaskView> getAllTasks(@RequestParam String fields,
+                                      @RequestParam(defaultValue = "false") boolean includeArchived) {
+        rejectArchivedFields(includeArchived);
+        return taskService.getAllTasks(TaskField.parse(fields));
+    }
+
+    /**
+     * Получает задачу по ее идентификатору, содержащую только перечисленные в {@code fields} поля.
+     *
+     * @param id              идентификатор задачи
+     * @param fields          список полей через запятую, например {@code title,status}
+     * @param includeArchived искать ли задачу в архиве; вместе с {@code fields} не поддерживается
+     * @return частичное представление задачи
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    @LogExecution
+    @LogExecutionTime
+    @LogExecutionHttp
+    public TaskView getTaskById(@PathVariable Long id, @RequestParam String fields,
+                                @RequestParam(defaultValue = "false") boolean includeArchived) {
+        rejectArchivedFields(includeArchived);
+        return taskService.getTaskById(id, TaskField.parse(fields));
+    }
+
+    /**
+     * Отклоняет запрос частичного представления архивных задач, чтобы {@code fields} не игнорировался молча.
+     *
+     * @param includeArchived включать ли задачи из архива
+     * @throws IllegalArgumentException если запрошены архивные задачи
+     */
+    private static void rejectArchivedFields(boolean includeArchived) {
+        if (includeArchived) {
+            throw new IllegalArgumentException("fields is not supported together with includeArchived=true");
+        }
     }
 
     /**
      * Создает новую задачу.
+     * <p>
+     * В режиме {@code task-commands.async} задача создается асинхронно: ответ 202 содержит
+     * идентификатор команды, а заголовок Location — адрес ее состояния.
+     * </p>
      *
      * @param task объект задачи, переданный в теле запроса
-     * @return созданная задача
+     * @return созданная задача либо состояние принятой команды
      */
     @PostMapping
     @LogExecution
     @LogExecutionTime
     @LogExecutionHttp
-    public TaskDto createTask(@RequestBody TaskDto task) {
-        return taskService.createTask(task);
+    public ResponseEntity<?> createTask(@RequestBody TaskDto task) {
+        if (taskCommandProperties.isAsync()) {
+            return accepted(taskCommandService.submitCreate(task));
+        }
+        return ResponseEntity.ok(taskService.createTask(task));
     }
 
     /**
      * Обновляет существующую задачу по ее идентификатору.
+     * <p>
+     * В режиме {@code task-commands.async} задача обновляется асинхронно, как и при создании.
+     * Смена пользователя, переносящая задачу на другой шард, всегда выполняется синхронно.
+     * </p>
      *
      * @param id   идентификатор задачи
      * @param task объект задачи с обновленными данными
-     * @return обновленная задача
+     * @return обновленная задача либо состояние принятой команды
      */
     @PutMapping("/{id}")
     @LogExecution
     @LogExecutionTime
     @LogExecutionHttp
-    public TaskDto updateTask(@PathVariable Long id, @RequestBody TaskDto task) {
-        return taskService.updateTask(id, task);
+    public ResponseEntity<?> updateTask(@PathVariable Long id, @RequestBody TaskDto task) {
+        if (taskCommandProperties.isAsync() && !taskCommandService.movesToAnotherShard(id, task)) {
+            return accepted(taskCommandService.submitUpdate(id, task));
+        }
+        return ResponseEntity.ok(taskService.updateTask(id, task));
+    }
+
+    /**
+     * Формирует ответ 202 на принятую команду.
+     *
+     * @param command состояние команды
+     * @return ответ со ссылкой на состояние команды
+     */
+    private ResponseEntity<TaskCommandStatusDto> accepted(TaskCommandStatusDto command) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/tasks/commands/{commandId}")
+                        .buildAndExpand(command.getCommandId())
+                        .toUri())
+                .body(command);
     }
 
     /**
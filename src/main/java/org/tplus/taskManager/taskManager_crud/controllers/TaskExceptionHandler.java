@@ -0,0 +1,100 @@
+package org.tplus.taskManager.taskManager_crud.controllers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import org.tplus.taskManager.taskManager_crud.kafka.KafkaSendException;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardRangeMovingException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Обработчик исключений для {@link TaskController}, {@link TaskCommandController} и {@link ShardAdminController}.
+ * <p>
+ * Преобразует ошибки в параметрах запроса в ответы со статусом 400, отсутствие задачи — в 404,
+ * а запись в переносимый между шардами диапазон пользователей и неподтвержденную брокером команду — в 503,
+ * в формате RFC 7807.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RestControllerAdvice(assignableTypes = {TaskController.class, TaskCommandController.class, ShardAdminController.class})
+public class TaskExceptionHandler {
+
+    /**
+     * Обрабатывает некорректные параметры запроса.
+     *
+     * @param ex исключение
+     * @return описание ошибки
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException ex) {
+        log.debug("Некорректный запрос: {}", ex.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    /**
+     * Обрабатывает запись задачи пользователя, диапазон которого переносится на другой шард.
+     *
+     * @param ex исключение
+     * @return описание ошибки со статусом 503 и заголовком Retry-After
+     */
+    @ExceptionHandler(ShardRangeMovingException.class)
+    public ResponseEntity<ProblemDetail> handleShardRangeMoving(ShardRangeMovingException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    /**
+     * Обрабатывает запись, отклоненную исходным шардом: диапазон пользователя заморожен на время переноса,
+     * а реплика еще не загрузила назначение диапазона.
+     *
+     * @param ex исключение
+     * @return описание ошибки со статусом 503 и заголовком Retry-After
+     */
+    @ExceptionHandler(CannotAcquireLockException.class)
+    public ResponseEntity<ProblemDetail> handleLockNotAvailable(CannotAcquireLockException ex) {
+        log.warn("Запись отклонена блокировкой: {}", ex.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Tasks of this user are being moved to another shard"));
+    }
+
+    /**
+     * Обрабатывает команду записи, которую брокер Kafka не подтвердил: команда могла не сохраниться,
+     * и клиент должен повторить запрос.
+     *
+     * @param ex исключение
+     * @return описание ошибки со статусом 503 и заголовком Retry-After
+     */
+    @ExceptionHandler(KafkaSendException.class)
+    public ResponseEntity<ProblemDetail> handleKafkaSend(KafkaSendException ex) {
+        log.warn("Команда не принята брокером: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Task command was not accepted, retry later"));
+    }
+
+    /**
+     * Обрабатывает отсутствие запрошенной задачи.
+     *
+     * @param ex исключение
+     * @return описание ошибки
+     */
+    @ExceptionHandler(NoSuchElementException.class)
+    public ProblemDetail handleNotFound(NoSuchElementException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+}
@@ -0,0 +1,48 @@
+package org.tplus.taskManager.taskManager_crud.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
+import org.tplus.taskManager.taskManager_crud.stream.TaskStreamService;
+
+/**
+ * Контроллер потока изменений задач в формате Server-Sent Events.
+ *
+ * <p>Клиент держит одно соединение и получает события {@code task-status} вместо периодического
+ * опроса {@code GET /tasks}. После обрыва браузерный EventSource переподключается с заголовком
+ * Last-Event-ID и получает пропущенные события.</p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@RestController
+@RequestMapping("/tasks")
+@RequiredArgsConstructor
+public class TaskStreamController {
+    /**
+     * Сервис раздачи событий SSE-клиентам.
+     */
+    private final TaskStreamService taskStreamService;
+
+    /**
+     * Подключает клиента к потоку изменений задач.
+     *
+     * @param userId      фильтр по пользователю (необязательный)
+     * @param status      фильтр по статусу (необязательный)
+     * @param lastEventId идентификатор последнего полученного события при переподключении
+     * @return SSE-соединение
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(@RequestParam(required = false) Long userId,
+                                  @RequestParam(required = false) TaskStatus status,
+                                  @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return taskStreamService.subscribe(userId, status, lastEventId);
+    }
+}
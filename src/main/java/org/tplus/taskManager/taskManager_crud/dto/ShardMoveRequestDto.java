@@ -0,0 +1,32 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO запроса на перенос задач диапазона пользователей на другой шард.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardMoveRequestDto {
+    /**
+     * Первый идентификатор пользователя диапазона включительно.
+     */
+    private long fromUserId;
+    /**
+     * Последний идентификатор пользователя диапазона включительно.
+     */
+    private long toUserId;
+    /**
+     * Номер целевого шарда.
+     */
+    private int targetShard;
+}
@@ -0,0 +1,28 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO результата переноса задач между шардами.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardMoveResultDto {
+    /**
+     * Количество скопированных на целевой шард задач, включая повторное копирование измененных.
+     */
+    private long copied;
+    /**
+     * Количество задач, удаленных с исходных шардов.
+     */
+    private long deleted;
+}
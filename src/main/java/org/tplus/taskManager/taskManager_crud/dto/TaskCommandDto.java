@@ -0,0 +1,38 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import lombok.*;
+
+/**
+ * DTO асинхронной команды записи задачи, передаваемой через Kafka-топик {@code t_plus_tasks_commands}.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCommandDto {
+
+    /**
+     * Идентификатор команды.
+     */
+    private Long commandId;
+
+    /**
+     * Тип команды.
+     */
+    private TaskCommandType type;
+
+    /**
+     * Идентификатор изменяемой задачи, для создания — {@code null}.
+     */
+    private Long taskId;
+
+    /**
+     * Данные задачи.
+     */
+    private TaskDto task;
+}
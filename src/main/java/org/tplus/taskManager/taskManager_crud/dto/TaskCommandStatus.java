@@ -0,0 +1,27 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+/**
+ * Состояние асинхронной команды записи задачи.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum TaskCommandStatus {
+    /**
+     * Команда принята и ожидает применения.
+     */
+    PENDING,
+    /**
+     * Команда применена.
+     */
+    APPLIED,
+    /**
+     * Изменяемая задача не найдена.
+     */
+    NOT_FOUND,
+    /**
+     * Команда отклонена с ошибкой.
+     */
+    FAILED
+}
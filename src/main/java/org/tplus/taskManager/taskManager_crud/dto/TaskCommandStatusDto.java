@@ -0,0 +1,45 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * DTO состояния асинхронной команды записи задачи.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCommandStatusDto {
+
+    /**
+     * Идентификатор команды.
+     */
+    private Long commandId;
+
+    /**
+     * Состояние команды.
+     */
+    private TaskCommandStatus status;
+
+    /**
+     * Идентификатор созданной или измененной задачи.
+     */
+    private Long taskId;
+
+    /**
+     * Описание ошибки для {@link TaskCommandStatus#FAILED}.
+     */
+    private String error;
+
+    /**
+     * Момент применения команды.
+     */
+    private Instant completedAt;
+}
@@ -0,0 +1,13 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+/**
+ * Тип асинхронной команды записи задачи.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum TaskCommandType {
+    CREATE,
+    UPDATE
+}
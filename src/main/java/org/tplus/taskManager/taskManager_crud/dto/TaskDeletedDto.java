@@ -0,0 +1,23 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import lombok.*;
+
+/**
+ * DTO события об окончательном удалении задачи из базы данных.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskDeletedDto {
+
+    /**
+     * Идентификатор удаленной задачи.
+     */
+    private Long id;
+}
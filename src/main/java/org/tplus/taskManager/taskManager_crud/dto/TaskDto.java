@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -34,5 +36,9 @@ public class TaskDto {
      * Статус задачи
      */
     private TaskStatus status;
+    /**
+     * Срок выполнения задачи (необязательный)
+     */
+    private Instant dueDate;
 
 }
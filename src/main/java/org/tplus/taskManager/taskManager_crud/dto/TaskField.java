@@ -0,0 +1,72 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Поля задачи, которые клиент может запросить через параметр {@code fields}.
+ * <p>
+ * Имя поля в JSON совпадает с именем атрибута сущности {@link org.tplus.taskManager.taskManager_crud.model.Task},
+ * поэтому выбранные поля напрямую попадают в проекцию JPA-запроса.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TaskField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    USER_ID("userId"),
+    STATUS("status"),
+    DUE_DATE("dueDate");
+
+    /**
+     * Имя поля в JSON и имя атрибута сущности.
+     */
+    private final String name;
+
+    /**
+     * Разбирает значение параметра {@code fields}, например {@code "title,status"}.
+     * <p>
+     * Идентификатор задачи включается в набор всегда.
+     * </p>
+     *
+     * @param fields список имен полей через запятую
+     * @return набор полей
+     * @throws IllegalArgumentException если указано неизвестное поле
+     */
+    public static Set<TaskField> parse(String fields) {
+        EnumSet<TaskField> result = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            result.add(fromName(trimmed));
+        }
+        return result;
+    }
+
+    /**
+     * Находит поле по имени.
+     *
+     * @param name имя поля в JSON
+     * @return поле задачи
+     * @throws IllegalArgumentException если поле неизвестно
+     */
+    private static TaskField fromName(String name) {
+        for (TaskField field : values()) {
+            if (field.name.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task field: " + name);
+    }
+}
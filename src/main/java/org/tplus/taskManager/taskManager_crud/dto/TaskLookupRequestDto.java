@@ -0,0 +1,26 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO запроса на получение нескольких задач по идентификаторам.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskLookupRequestDto {
+    /**
+     * Идентификаторы задач в порядке, в котором их нужно вернуть.
+     */
+    private List<Long> ids;
+}
@@ -0,0 +1,30 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO ответа на получение нескольких задач по идентификаторам.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskLookupResultDto {
+    /**
+     * Найденные задачи в порядке запроса.
+     */
+    private List<TaskDto> tasks;
+    /**
+     * Идентификаторы, для которых задачи не найдены.
+     */
+    private List<Long> missingIds;
+}
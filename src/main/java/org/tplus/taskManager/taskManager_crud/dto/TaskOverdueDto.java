@@ -0,0 +1,38 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * DTO события о просрочке задачи.
+ * <p>
+ * Отправляется в Kafka-топик {@code t_plus_tasks_overdue} один раз для каждого срока задачи.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskOverdueDto {
+
+    /**
+     * Идентификатор задачи.
+     */
+    private Long id;
+
+    /**
+     * Идентификатор пользователя, которому принадлежит задача.
+     */
+    private Long userId;
+
+    /**
+     * Наступивший срок выполнения задачи.
+     */
+    private Instant dueDate;
+}
@@ -0,0 +1,42 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * DTO ежедневного агрегата по статусу задач пользователя.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusDailyDto {
+    /**
+     * День (UTC).
+     */
+    private LocalDate day;
+    /**
+     * Статус задачи.
+     */
+    private TaskStatus status;
+    /**
+     * Количество переходов в статус за день.
+     */
+    private long enteredCount;
+    /**
+     * Количество выходов из статуса за день.
+     */
+    private long exitedCount;
+    /**
+     * Суммарное время в статусе задач, вышедших из него за день, мс.
+     */
+    private long totalDurationMs;
+}
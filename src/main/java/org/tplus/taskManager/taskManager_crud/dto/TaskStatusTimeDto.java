@@ -0,0 +1,46 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO итогов по статусу задач пользователя за период.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskStatusTimeDto {
+    /**
+     * Статус задачи.
+     */
+    private TaskStatus status;
+    /**
+     * Количество переходов в статус.
+     */
+    private long enteredCount;
+    /**
+     * Количество выходов из статуса.
+     */
+    private long exitedCount;
+    /**
+     * Суммарное время в статусе, мс.
+     */
+    private long totalDurationMs;
+    /**
+     * Среднее время в статусе, мс; {@code null}, если выходов из статуса не было.
+     */
+    private Long averageDurationMs;
+
+    public TaskStatusTimeDto(TaskStatus status, Long enteredCount, Long exitedCount, Long totalDurationMs) {
+        this.status = status;
+        this.enteredCount = enteredCount;
+        this.exitedCount = exitedCount;
+        this.totalDurationMs = totalDurationMs;
+        this.averageDurationMs = exitedCount > 0 ? totalDurationMs / exitedCount : null;
+    }
+}
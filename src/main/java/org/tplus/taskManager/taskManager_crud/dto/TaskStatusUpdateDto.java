@@ -27,6 +27,11 @@ public class TaskStatusUpdateDto {
      */
     private Long id;
 
+    /**
+     * Идентификатор пользователя, которому принадлежит задача.
+     */
+    private Long userId;
+
     /**
      * Новый статус задачи.
      */
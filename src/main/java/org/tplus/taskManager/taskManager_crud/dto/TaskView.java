@@ -0,0 +1,44 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Частичное представление задачи, содержащее только запрошенные клиентом поля.
+ * <p>
+ * Значения хранятся в массиве по порядковому номеру {@link TaskField} и сериализуются
+ * {@link TaskViewSerializer} напрямую, без рефлексии и без незапрошенных полей.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@RequiredArgsConstructor
+@JsonSerialize(using = TaskViewSerializer.class)
+public class TaskView {
+
+    /**
+     * Набор выбранных полей.
+     */
+    private final Set<TaskField> fields;
+
+    /**
+     * Значения полей, индексированные {@link TaskField#ordinal()}.
+     */
+    private final Object[] values;
+
+    /**
+     * Возвращает значение поля.
+     *
+     * @param field поле задачи
+     * @return значение поля или {@code null}
+     */
+    public Object get(TaskField field) {
+        return values[field.ordinal()];
+    }
+}
@@ -0,0 +1,40 @@
+package org.tplus.taskManager.taskManager_crud.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Сериализатор {@link TaskView}, записывающий только выбранные поля.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class TaskViewSerializer extends StdSerializer<TaskView> {
+
+    public TaskViewSerializer() {
+        super(TaskView.class);
+    }
+
+    @Override
+    public void serialize(TaskView view, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        for (TaskField field : view.getFields()) {
+            Object value = view.get(field);
+            gen.writeFieldName(field.getName());
+            if (value == null) {
+                gen.writeNull();
+            } else if (value instanceof Long number) {
+                gen.writeNumber(number);
+            } else if (value instanceof TaskStatus status) {
+                gen.writeString(status.name());
+            } else {
+                gen.writeString(value.toString());
+            }
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,76 @@
+package org.tplus.taskManager.taskManager_crud.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запускает gRPC-сервер вместе с контекстом Spring и останавливает его с ожиданием текущих вызовов.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class GrpcServerLifecycle implements SmartLifecycle {
+    /**
+     * Сервисы, публикуемые сервером.
+     */
+    private final List<BindableService> services;
+    /**
+     * Настройки сервера.
+     */
+    private final GrpcServerProperties properties;
+    /**
+     * Запущенный сервер.
+     */
+    private volatile Server server;
+
+    @Override
+    public void start() {
+        ServerBuilder<?> builder = Grpc.newServerBuilderForPort(properties.getPort(), InsecureServerCredentials.create())
+                .maxInboundMessageSize((int) properties.getMaxInboundMessageSize().toBytes());
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось запустить gRPC-сервер на порту " + properties.getPort(), e);
+        }
+        log.info("gRPC-сервер запущен на порту {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(properties.getShutdownGracePeriod().toMillis(), TimeUnit.MILLISECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        log.info("gRPC-сервер остановлен");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
@@ -0,0 +1,52 @@
+package org.tplus.taskManager.taskManager_crud.grpc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные свойства gRPC-сервера задач.
+ * <p>
+ * Пример конфигурации в application.yml:
+ * <pre>
+ * grpc-server:
+ *   enabled: true
+ *   port: 9090
+ *   list-page-size: 500
+ * </pre>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@ConfigurationProperties(prefix = "grpc-server")
+public class GrpcServerProperties {
+
+    /**
+     * Включен ли gRPC-сервер.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Порт gRPC-сервера, отдельный от порта HTTP.
+     */
+    private int port = 9090;
+
+    /**
+     * Максимальный размер входящего сообщения.
+     */
+    private DataSize maxInboundMessageSize = DataSize.ofMegabytes(4);
+
+    /**
+     * Время на завершение текущих вызовов при остановке приложения.
+     */
+    private Duration shutdownGracePeriod = Duration.ofSeconds(10);
+
+    /**
+     * Сколько задач ListTasks читает из базы данных за один запрос.
+     */
+    private int listPageSize = 500;
+}
@@ -0,0 +1,314 @@
+package org.tplus.taskManager.taskManager_crud.grpc;
+
+import com.google.protobuf.Empty;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.tplus.taskManager.taskManager_crud.dto.TaskDto;
+import org.tplus.taskManager.taskManager_crud.dto.TaskLookupResultDto;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.BatchCreateTaskResult;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.BatchCreateTasksRequest;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.BatchCreateTasksResponse;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.BatchDeleteTasksRequest;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.BatchDeleteTasksResponse;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.BatchGetTasksRequest;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.BatchGetTasksResponse;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.BatchUpdateTasksRequest;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.BatchUpdateTasksResponse;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.CreateTaskRequest;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.DeleteTaskRequest;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.GetTaskRequest;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.ListTasksRequest;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.TaskGrpcServiceGrpc;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.TaskMessage;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.UpdateTaskRequest;
+import org.tplus.taskManager.taskManager_crud.mapper.TaskMapper;
+import org.tplus.taskManager.taskManager_crud.services.TaskLookupService;
+import org.tplus.taskManager.taskManager_crud.services.TaskService;
+import org.tplus.taskManager.taskManager_crud.services.TransientErrors;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardRangeMovingException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+/**
+ * gRPC-реализация операций над задачами для внутренних сервисов.
+ * <p>
+ * Вызовы выполняются теми же {@link TaskService} и {@link TaskLookupService}, что и у REST-контроллера,
+ * поэтому поведение (события в Kafka, журнал статусов, сроки) совпадает. Ошибки переводятся в статусы gRPC:
+ * {@link NoSuchElementException} — NOT_FOUND, {@link IllegalArgumentException} — INVALID_ARGUMENT,
+ * {@link ShardRangeMovingException} и временная недоступность базы данных — UNAVAILABLE.
+ * </p>
+ * <p>
+ * ListTasks читает задачи страницами по {@link GrpcServerProperties#getListPageSize()} и отправляет их,
+ * только пока клиент готов принимать сообщения, поэтому ни таблица, ни очередь исходящих сообщений
+ * целиком в памяти не собираются.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TaskGrpcServiceImpl extends TaskGrpcServiceGrpc.TaskGrpcServiceImplBase {
+    /**
+     * Сервис для работы с задачами.
+     */
+    private final TaskService taskService;
+    /**
+     * Сервис получения задач по набору идентификаторов.
+     */
+    private final TaskLookupService taskLookupService;
+    /**
+     * Маппер задач.
+     */
+    private final TaskMapper taskMapper;
+    /**
+     * Настройки gRPC-сервера.
+     */
+    private final GrpcServerProperties properties;
+
+    @Override
+    public void getTask(GetTaskRequest request, StreamObserver<TaskMessage> responseObserver) {
+        unary(responseObserver, () -> taskMapper.toTaskMessage(taskService.getTaskById(request.getId())));
+    }
+
+    @Override
+    public void batchGetTasks(BatchGetTasksRequest request, StreamObserver<BatchGetTasksResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            TaskLookupResultDto result = taskLookupService.getTasksByIds(request.getIdsList());
+            BatchGetTasksResponse.Builder response = BatchGetTasksResponse.newBuilder()
+                    .addAllMissingIds(result.getMissingIds());
+            result.getTasks().forEach(task -> response.addTasks(taskMapper.toTaskMessage(task)));
+            return response.build();
+        });
+    }
+
+    @Override
+    public void listTasks(ListTasksRequest request, StreamObserver<TaskMessage> responseObserver) {
+        ServerCallStreamObserver<TaskMessage> observer = (ServerCallStreamObserver<TaskMessage>) responseObserver;
+        TaskPageStreamer streamer = new TaskPageStreamer(observer, properties.getListPageSize());
+        observer.setOnCancelHandler(streamer::cancel);
+        observer.setOnReadyHandler(streamer);
+        streamer.run();
+    }
+
+    @Override
+    public void createTask(CreateTaskRequest request, StreamObserver<TaskMessage> responseObserver) {
+        unary(responseObserver, () -> taskMapper.toTaskMessage(
+                taskService.createTask(taskMapper.toTaskDto(request.getTask()))));
+    }
+
+    @Override
+    public void batchCreateTasks(BatchCreateTasksRequest request, StreamObserver<BatchCreateTasksResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            List<TaskDto> tasks = request.getTasksList().stream().map(task -> taskMapper.toTaskDto(task)).toList();
+            TaskDto[] created = new TaskDto[tasks.size()];
+            String[] unavailable = new String[tasks.size()];
+            boolean committed = false;
+            for (Map.Entry<Integer, List<Integer>> shard : taskService.groupByUserShard(tasks).entrySet()) {
+                List<Integer> indexes = shard.getValue();
+                try {
+                    List<TaskDto> shardCreated = taskService.createTasksOnShard(shard.getKey(),
+                            indexes.stream().map(tasks::get).toList());
+                    for (int i = 0; i < indexes.size(); i++) {
+                        created[indexes.get(i)] = shardCreated.get(i);
+                    }
+                    committed = true;
+                } catch (RuntimeException e) {
+                    if (TransientErrors.isTransient(e)) {
+                        if (!committed) {
+                            throw e;
+                        }
+                        // задачи других шардов уже созданы, поэтому повторять весь вызов нельзя
+                        indexes.forEach(index -> unavailable[index] = String.valueOf(e.getMessage()));
+                        continue;
+                    }
+                    log.warn("Пачка из {} задач шарда {} отклонена, задачи создаются по одной: {}",
+                            indexes.size(), shard.getKey(), e.getMessage());
+                }
+            }
+
+            BatchCreateTasksResponse.Builder response = BatchCreateTasksResponse.newBuilder();
+            for (int i = 0; i < tasks.size(); i++) {
+                BatchCreateTaskResult.Builder result = BatchCreateTaskResult.newBuilder().setIndex(i);
+                if (unavailable[i] != null) {
+                    response.addResults(result.setError(unavailable[i]));
+                    continue;
+                }
+                try {
+                    TaskMessage task = taskMapper.toTaskMessage(
+                            created[i] != null ? created[i] : taskService.createTask(tasks.get(i)));
+                    response.addTasks(task);
+                    result.setTask(task);
+                } catch (RuntimeException e) {
+                    // задачи до этой уже созданы, поэтому ошибка возвращается в результате, а не статусом вызова
+                    log.warn("Задача {} пачки не создана: {}", i, e.getMessage());
+                    result.setError(String.valueOf(e.getMessage()));
+                }
+                response.addResults(result);
+            }
+            return response.build();
+        });
+    }
+
+    @Override
+    public void updateTask(UpdateTaskRequest request, StreamObserver<TaskMessage> responseObserver) {
+        unary(responseObserver, () -> taskMapper.toTaskMessage(
+                taskService.updateTask(request.getId(), taskMapper.toTaskDto(request.getTask()))));
+    }
+
+    @Override
+    public void batchUpdateTasks(BatchUpdateTasksRequest request, StreamObserver<BatchUpdateTasksResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            BatchUpdateTasksResponse.Builder response = BatchUpdateTasksResponse.newBuilder();
+            for (UpdateTaskRequest update : request.getUpdatesList()) {
+                try {
+                    response.addTasks(taskMapper.toTaskMessage(
+                            taskService.updateTask(update.getId(), taskMapper.toTaskDto(update.getTask()))));
+                } catch (NoSuchElementException e) {
+                    response.addMissingIds(update.getId());
+                }
+            }
+            return response.build();
+        });
+    }
+
+    @Override
+    public void deleteTask(DeleteTaskRequest request, StreamObserver<Empty> responseObserver) {
+        unary(responseObserver, () -> {
+            taskService.deleteTask(request.getId());
+            return Empty.getDefaultInstance();
+        });
+    }
+
+    @Override
+    public void batchDeleteTasks(BatchDeleteTasksRequest request, StreamObserver<BatchDeleteTasksResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            BatchDeleteTasksResponse.Builder response = BatchDeleteTasksResponse.newBuilder();
+            for (long id : request.getIdsList()) {
+                try {
+                    taskService.deleteTask(id);
+                    response.addDeletedIds(id);
+                } catch (NoSuchElementException e) {
+                    response.addMissingIds(id);
+                }
+            }
+            return response.build();
+        });
+    }
+
+    /**
+     * Выполняет унарный вызов и передает результат или ошибку клиенту.
+     *
+     * @param responseObserver поток ответа
+     * @param call             вызов сервиса
+     * @param <T>              тип ответа
+     */
+    private <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatusException(e));
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Переводит исключение сервиса в статус gRPC.
+     *
+     * @param e исключение сервиса
+     * @return исключение со статусом gRPC
+     */
+    private StatusRuntimeException toStatusException(RuntimeException e) {
+        Status status;
+        if (e instanceof NoSuchElementException) {
+            status = Status.NOT_FOUND;
+        } else if (e instanceof IllegalArgumentException) {
+            status = Status.INVALID_ARGUMENT;
+        } else if (TransientErrors.isTransient(e)) {
+            status = Status.UNAVAILABLE;
+        } else {
+            log.error("Ошибка обработки gRPC-вызова: {}", e.getMessage(), e);
+            status = Status.INTERNAL;
+        }
+        return status.withDescription(e.getMessage()).asRuntimeException();
+    }
+
+    /**
+     * Передает задачи страницами, пока клиент готов принимать сообщения.
+     * <p>
+     * Вызывается из обработчика готовности потока: когда буфер транспорта заполнен, передача
+     * приостанавливается и продолжается с того же места при следующем вызове.
+     * </p>
+     */
+    private final class TaskPageStreamer implements Runnable {
+        private final ServerCallStreamObserver<TaskMessage> observer;
+        private final int pageSize;
+        /**
+         * Прочитанные, но еще не отправленные задачи текущей страницы.
+         */
+        private final Deque<TaskDto> page = new ArrayDeque<>();
+        /**
+         * Идентификатор последней прочитанной задачи.
+         */
+        private Long lastId;
+        /**
+         * Прочитана последняя страница.
+         */
+        private boolean exhausted;
+        /**
+         * Поток ответа завершен.
+         */
+        private boolean finished;
+        private volatile boolean cancelled;
+
+        private TaskPageStreamer(ServerCallStreamObserver<TaskMessage> observer, int pageSize) {
+            this.observer = observer;
+            this.pageSize = Math.max(1, pageSize);
+        }
+
+        @Override
+        public synchronized void run() {
+            if (finished) {
+                return;
+            }
+            try {
+                while (!cancelled && observer.isReady()) {
+                    if (!page.isEmpty()) {
+                        observer.onNext(taskMapper.toTaskMessage(page.poll()));
+                    } else if (exhausted) {
+                        finished = true;
+                        observer.onCompleted();
+                        return;
+                    } else {
+                        List<TaskDto> next = taskService.getTasksPage(lastId, pageSize);
+                        exhausted = next.size() < pageSize;
+                        if (!next.isEmpty()) {
+                            lastId = next.get(next.size() - 1).getId();
+                            page.addAll(next);
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                finished = true;
+                observer.onError(toStatusException(e));
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+    }
+}
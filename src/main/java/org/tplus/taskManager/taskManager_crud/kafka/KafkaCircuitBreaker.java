@@ -0,0 +1,168 @@
+package org.tplus.taskManager.taskManager_crud.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+
+/**
+ * Автоматический выключатель отправки сообщений в Kafka.
+ * <p>
+ * В замкнутом состоянии все отправки пропускаются, а их результаты записываются в скользящее окно.
+ * Когда доля неудачных в окне достигает порога, выключатель размыкается и на время
+ * {@link KafkaCircuitBreakerProperties#getOpenDuration()} сразу отказывает в отправке, не дожидаясь
+ * таймаутов брокера. Затем он переходит в полуоткрытое состояние и пропускает несколько пробных
+ * отправок: если все успешны, выключатель замыкается, при первой неудаче снова размыкается.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+public class KafkaCircuitBreaker {
+
+    /**
+     * Состояние выключателя.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Настройки выключателя.
+     */
+    private final KafkaCircuitBreakerProperties properties;
+    /**
+     * Результаты последних отправок: {@code true} — неудача.
+     */
+    private final boolean[] window;
+    /**
+     * Позиция следующей записи в окне.
+     */
+    private int windowIndex;
+    /**
+     * Количество записанных результатов в окне.
+     */
+    private int calls;
+    /**
+     * Количество неудач в окне.
+     */
+    private int failures;
+    /**
+     * Текущее состояние.
+     */
+    private State state = State.CLOSED;
+    /**
+     * Момент размыкания по {@link System#nanoTime()}.
+     */
+    private long openedAt;
+    /**
+     * Количество выполняющихся пробных отправок.
+     */
+    private int probesInFlight;
+    /**
+     * Количество успешных пробных отправок.
+     */
+    private int probeSuccesses;
+
+    public KafkaCircuitBreaker(KafkaCircuitBreakerProperties properties) {
+        this.properties = properties;
+        this.window = new boolean[Math.max(1, properties.getSlidingWindowSize())];
+    }
+
+    /**
+     * Запрашивает разрешение на отправку.
+     *
+     * @return {@code true}, если сообщение можно отправить в брокер
+     */
+    public synchronized boolean tryAcquire() {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < properties.getOpenDuration().toNanos()) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= properties.getHalfOpenProbes()) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    /**
+     * Записывает успешную отправку.
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            if (++probeSuccesses >= properties.getHalfOpenProbes()) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Записывает неудачную отправку.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (calls >= properties.getMinimumCalls()
+                    && failures * 100L >= (long) properties.getFailureRateThreshold() * calls) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    /**
+     * @return текущее состояние выключателя
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Добавляет результат в скользящее окно, вытесняя самый старый.
+     */
+    private void record(boolean failure) {
+        if (calls == window.length) {
+            if (window[windowIndex]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            failures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    /**
+     * Переводит выключатель в новое состояние и сбрасывает счетчики.
+     */
+    private void transitionTo(State newState) {
+        log.warn("Выключатель отправки в Kafka: {} -> {} (неудач {} из {})", state, newState, failures, calls);
+        state = newState;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (newState == State.OPEN) {
+            openedAt = System.nanoTime();
+        } else if (newState == State.CLOSED) {
+            Arrays.fill(window, false);
+            windowIndex = 0;
+            calls = 0;
+            failures = 0;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.tplus.taskManager.taskManager_crud.kafka;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные свойства защиты отправки сообщений в Kafka.
+ * <p>
+ * Пример конфигурации в application.yml:
+ * <pre>
+ * kafka-circuit-breaker:
+ *   enabled: true
+ *   failure-rate-threshold: 50
+ *   open-duration: PT30S
+ *   spill-capacity: 10000
+ * </pre>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@ConfigurationProperties(prefix = "kafka-circuit-breaker")
+public class KafkaCircuitBreakerProperties {
+
+    /**
+     * Включен ли автоматический выключатель. Если выключен, сообщения всегда отправляются в брокер,
+     * а неотправленные все равно попадают в буфер.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Доля неудачных отправок в процентах, при которой выключатель размыкается.
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * Количество последних отправок, по которым считается доля неудачных.
+     */
+    private int slidingWindowSize = 20;
+
+    /**
+     * Минимальное количество отправок в окне, после которого доля неудачных учитывается.
+     */
+    private int minimumCalls = 10;
+
+    /**
+     * Время, в течение которого разомкнутый выключатель не пропускает отправки.
+     */
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * Количество пробных отправок в полуоткрытом состоянии; если все успешны, выключатель замыкается.
+     */
+    private int halfOpenProbes = 3;
+
+    /**
+     * Сколько поток запроса ждет подтверждения от брокера, прежде чем вернуть управление.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Максимальное количество сообщений в буфере неотправленных; при переполнении вытесняются самые старые.
+     */
+    private int spillCapacity = 10_000;
+
+    /**
+     * Интервал повторной отправки сообщений из буфера.
+     */
+    private Duration replayInterval = Duration.ofSeconds(5);
+
+    /**
+     * Максимальное количество сообщений, повторно отправляемых за один запуск.
+     */
+    private int replayBatchSize = 500;
+}
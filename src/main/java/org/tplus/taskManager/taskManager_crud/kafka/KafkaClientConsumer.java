@@ -1,10 +1,12 @@
 package org.tplus.taskManager.taskManager_crud.kafka;
 
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 import org.tplus.taskManager.taskManager_crud.dto.TaskStatusUpdateDto;
 import org.tplus.taskManager.taskManager_crud.services.NotificationService;
@@ -20,6 +22,10 @@ import java.util.List;
  * <p>
  * Аннотация {@code @KafkaListener} на методе указывает, что этот метод будет вызван при поступлении новых сообщений в указанный топик.
  * </p>
+ * <p>
+ * Каждое сообщение обрабатывается в span, продолжающем трассу продюсера, а задержки этапов
+ * записываются через {@link TaskPipelineTracing}.
+ * </p>
  *
  * @author Бадиков Дмитрий
  * @version 1.0
@@ -34,11 +40,15 @@ public class KafkaClientConsumer {
      * Сервис для отправки уведомлений при обновлении статуса задачи.
      */
     private final NotificationService notificationService;
+    /**
+     * Трассировка и метрики задержек доставки.
+     */
+    private final TaskPipelineTracing tracing;
 
     /**
      * Обработчик сообщений из Kafka.
      * <p>
-     * Получает список сообщений типа {@link TaskStatusUpdateDto}, обрабатывает каждое сообщение и вызывает
+     * Получает список записей со значением типа {@link TaskStatusUpdateDto}, обрабатывает каждое сообщение и вызывает
      * метод уведомления в {@link NotificationService}.
      * После успешной обработки всех сообщений выполняет ручное подтверждение получения (acknowledge).
      * </p>
@@ -49,11 +59,24 @@ public class KafkaClientConsumer {
     @KafkaListener(id = "t_plus_tasks_name",
             topics = "t_plus_tasks_update_status",
             containerFactory = "kafkaListenerContainerFactory")
-    public void listener(@Payload List<TaskStatusUpdateDto> messages, Acknowledgment ack) {
+    public void listener(List<ConsumerRecord<String, TaskStatusUpdateDto>> messages, Acknowledgment ack) {
         log.debug("consumer: Обнаружена новая пачка сообщений для обработки. Количество: {}", messages.size());
+        long receivedAt = System.currentTimeMillis();
+        long batchStart = System.nanoTime();
         try {
-            for (TaskStatusUpdateDto message : messages) {
-                notificationService.taskUpdateNotification(message);
+            for (ConsumerRecord<String, TaskStatusUpdateDto> message : messages) {
+                tracing.recordBroker(message, receivedAt);
+                tracing.recordConsume(batchStart);
+                Span span = tracing.startConsumerSpan(message);
+                try (Tracer.SpanInScope ignored = tracing.withSpan(span)) {
+                    notificationService.taskUpdateNotification(message.value());
+                    tracing.recordEndToEnd(message);
+                } catch (RuntimeException e) {
+                    span.error(e);
+                    throw e;
+                } finally {
+                    span.end();
+                }
             }
         } finally {
             ack.acknowledge();
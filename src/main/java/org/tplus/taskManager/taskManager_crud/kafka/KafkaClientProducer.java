@@ -2,10 +2,20 @@ package org.tplus.taskManager.taskManager_crud.kafka;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Kafka-продюсер для отправки сообщений в брокер Kafka.
@@ -13,6 +23,18 @@ import java.util.UUID;
  * Этот класс отвечает за отправку сообщений в Kafka, как в топик по умолчанию, так и в произвольный топик.
  * Вся отправка логируется, при этом в случае ошибки отправки логируется соответствующая информация.
  * </p>
+ * <p>
+ * Отправка защищена {@link KafkaCircuitBreaker}: пока брокер недоступен, сообщения не отправляются,
+ * а сразу складываются в {@link KafkaSpillBuffer}, и поток запроса не ждет таймаутов продюсера.
+ * Туда же попадают сообщения, отправка которых завершилась ошибкой. Буфер периодически
+ * отправляется повторно методом {@link #replaySpilled()} с исходными ключами; пока в буфере есть сообщения
+ * с ключом, новые сообщения с тем же ключом откладываются за ними, и порядок по ключу сохраняется.
+ * {@link #sendConfirmed(String, String, Object)} буфер не использует и сообщает об ошибке вызывающему.
+ * </p>
+ * <p>
+ * Каждое сообщение получает заголовки {@link TaskPipelineTracing#newHeaders()}; при повторной отправке
+ * сохраняются исходные заголовки, поэтому полная задержка учитывает время в буфере.
+ * </p>
  *
  * @author Бадиков Дмитрий
  * @version 1.0
@@ -26,6 +48,22 @@ public class KafkaClientProducer {
      * Шаблон для отправки сообщений в Kafka.
      */
     private final KafkaTemplate template;
+    /**
+     * Автоматический выключатель отправки.
+     */
+    private final KafkaCircuitBreaker circuitBreaker;
+    /**
+     * Буфер неотправленных сообщений.
+     */
+    private final KafkaSpillBuffer spillBuffer;
+    /**
+     * Настройки выключателя и буфера.
+     */
+    private final KafkaCircuitBreakerProperties properties;
+    /**
+     * Трассировка и метрики задержек доставки.
+     */
+    private final TaskPipelineTracing tracing;
 
     /**
      * Отправляет сообщение с идентификатором задачи в топик по умолчанию.
@@ -36,38 +74,243 @@ public class KafkaClientProducer {
      * @param id идентификатор задачи
      */
     public void send(Long id) {
-        template.sendDefault(UUID.randomUUID().toString(), id)
-                .whenComplete((result, exception) -> {
-                    if (exception != null) {
-                        log.error("Ошибка отправки сообщения с id={}: {}", id, exception);
-                    } else {
-                        log.info("Сообщение с id={} успешно отправлено в партицию ", id);
-                    }
-                });
+        publish(template.getDefaultTopic(), UUID.randomUUID().toString(), id);
     }
 
     /**
      * Отправляет произвольный объект в указанный топик.
      * <p>
-     * Сообщение отправляется в заданный топик, после чего вызывается метод {@code flush()} для немедленной отправки.
+     * После отправки ожидает подтверждения брокера не дольше
+     * {@link KafkaCircuitBreakerProperties#getSendTimeout()}.
      * </p>
      *
      * @param topic имя топика
      * @param o     объект, который будет отправлен в виде значения сообщения
      */
     public void sendTo(String topic, Object o) {
+        List<CompletableFuture<?>> futures = new ArrayList<>(1);
+        addIfSent(futures, publish(topic, null, o));
+        await(futures);
+    }
+
+    /**
+     * Отправляет произвольный объект в указанный топик с заданным ключом.
+     * <p>
+     * Сообщения с одинаковым ключом попадают в одну партицию и читаются в порядке отправки.
+     * </p>
+     *
+     * @param topic имя топика
+     * @param key   ключ сообщения
+     * @param o     объект, который будет отправлен в виде значения сообщения
+     */
+    public void sendTo(String topic, String key, Object o) {
+        List<CompletableFuture<?>> futures = new ArrayList<>(1);
+        addIfSent(futures, publish(topic, key, o));
+        await(futures);
+    }
+
+    /**
+     * Отправляет сообщение и ждет подтверждения брокера, не откладывая его в буфер.
+     * <p>
+     * Для отправителей, которые сами хранят сообщение до подтверждения или должны сообщить клиенту
+     * об отказе: если выключатель разомкнут, сообщения с тем же ключом ждут повторной отправки,
+     * брокер вернул ошибку или не ответил за {@link KafkaCircuitBreakerProperties#getSendTimeout()},
+     * выбрасывается {@link KafkaSendException}. После таймаута сообщение еще может быть доставлено,
+     * поэтому повторная отправка должна использовать тот же ключ.
+     * </p>
+     *
+     * @param topic имя топика
+     * @param key   ключ сообщения
+     * @param o     объект, который будет отправлен в виде значения сообщения
+     * @throws KafkaSendException если отправка не подтверждена
+     */
+    @SuppressWarnings("unchecked")
+    public void sendConfirmed(String topic, String key, Object o) {
+        if (spillBuffer.hasPending(topic, key)) {
+            throw new KafkaSendException("Earlier messages with key " + key + " are waiting for delivery to " + topic);
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            throw new KafkaSendException("Sending to Kafka is suspended by the circuit breaker");
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = template.send(new ProducerRecord<>(topic, null, key, o, tracing.newHeaders()))
+                    .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            tracing.recordProduce(start);
+            log.info("Сообщение успешно отправлено в топик {}: {}", topic, result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaSendException("Interrupted while sending to " + topic, e);
+        } catch (ExecutionException | TimeoutException e) {
+            circuitBreaker.onFailure();
+            throw new KafkaSendException("Broker did not confirm message for " + topic, e);
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw new KafkaSendException("Broker did not confirm message for " + topic, e);
+        }
+    }
+
+    /**
+     * Отправляет пачку объектов в указанный топик.
+     * <p>
+     * В отличие от {@link #sendTo(String, Object)}, подтверждение брокера ожидается один раз для всей пачки.
+     * </p>
+     *
+     * @param topic    имя топика
+     * @param messages объекты, которые будут отправлены в виде значений сообщений
+     */
+    public void sendBatch(String topic, List<?> messages) {
+        List<CompletableFuture<?>> futures = new ArrayList<>(messages.size());
+        for (Object o : messages) {
+            addIfSent(futures, publish(topic, null, o));
+        }
+        await(futures);
+        log.info("В топик {} отправлено сообщений: {}", topic, futures.size());
+    }
+
+    /**
+     * Повторно отправляет сообщения из буфера, пока выключатель это разрешает.
+     * <p>
+     * В полуоткрытом состоянии выключатель пропускает только пробные отправки, поэтому после
+     * восстановления брокера буфер сначала отправляется по несколько сообщений, а после замыкания
+     * выключателя — пачками до {@link KafkaCircuitBreakerProperties#getReplayBatchSize()}.
+     * </p>
+     * <p>
+     * Отправка идет раундами: в раунде не больше одного сообщения каждого ключа, а следующий раунд
+     * начинается только после подтверждения всех сообщений предыдущего. Если хотя бы одно сообщение раунда
+     * не подтверждено, повтор прекращается до следующего запуска, а неотправленные сообщения возвращаются
+     * в буфер на исходные места, поэтому сообщения одного ключа не обгоняют друг друга.
+     * </p>
+     *
+     * @return количество сообщений, переданных продюсеру
+     */
+    @Scheduled(fixedDelayString = "${kafka-circuit-breaker.replay-interval:PT5S}",
+            initialDelayString = "${kafka-circuit-breaker.replay-interval:PT5S}")
+    public int replaySpilled() {
+        int replayed = 0;
+        boolean delivered = true;
+        while (delivered && replayed < properties.getReplayBatchSize()) {
+            List<KafkaSpillBuffer.SpilledMessage> round = spillBuffer.poll(properties.getReplayBatchSize() - replayed);
+            if (round.isEmpty()) {
+                break;
+            }
+            List<CompletableFuture<?>> futures = new ArrayList<>(round.size());
+            int sent = 0;
+            for (KafkaSpillBuffer.SpilledMessage message : round) {
+                if (delivered && circuitBreaker.tryAcquire()) {
+                    addIfSent(futures, doSend(message.topic(), message.key(), message.payload(), message.headers(), message));
+                    sent++;
+                } else {
+                    delivered = false;
+                    spillBuffer.requeue(message);
+                }
+            }
+            replayed += sent;
+            await(futures);
+            delivered = delivered && futures.size() == sent
+                    && futures.stream().allMatch(future -> future.isDone() && !future.isCompletedExceptionally());
+        }
+        if (replayed > 0) {
+            log.info("Повторно отправлено сообщений из буфера: {}, осталось: {}", replayed, spillBuffer.size());
+        }
+        return replayed;
+    }
+
+    /**
+     * Отправляет сообщение, если выключатель замкнут и сообщения с тем же ключом не отложены,
+     * иначе откладывает его в буфер.
+     *
+     * @return результат отправки или {@code null}, если сообщение отложено
+     */
+    private CompletableFuture<?> publish(String topic, String key, Object value) {
+        Headers headers = tracing.newHeaders();
+        if (spillBuffer.hasPending(topic, key)) {
+            spillBuffer.add(topic, key, value, headers);
+            log.debug("Сообщение с ключом {} для топика {} отложено вслед за неотправленными", key, topic);
+            return null;
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            spillBuffer.add(topic, key, value, headers);
+            log.debug("Отправка в Kafka приостановлена, сообщение для топика {} отложено", topic);
+            return null;
+        }
+        return doSend(topic, key, value, headers, null);
+    }
+
+    /**
+     * Передает сообщение продюсеру и записывает результат в выключатель; при ошибке откладывает сообщение.
+     * Сообщение из буфера при ошибке возвращается на свое место в буфере, а при успехе освобождает свой ключ.
+     *
+     * @param replayed сообщение из буфера или {@code null} для новой отправки
+     * @return результат отправки или {@code null}, если продюсер отказал сразу
+     */
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<?> doSend(String topic, String key, Object value, Headers headers,
+                                        KafkaSpillBuffer.SpilledMessage replayed) {
         try {
-            template.send(topic, o)
-                    .whenComplete((result, exception) -> {
-                        if (exception != null) {
-                            log.error("Ошибка отправки сообщения в топик {} {}", topic, exception);
-                        } else {
-                            log.info("Сообщение успешно отправлено в топик {}: {}", topic, result);
-                        }
-                    });
-            template.flush();
+            long start = System.nanoTime();
+            // сериализатор дописывает заголовки в запись, поэтому исходные копируются для повторной отправки
+            CompletableFuture<Object> future = template.send(
+                    new ProducerRecord<>(topic, null, key, value, new RecordHeaders(headers.toArray())));
+            return future.whenComplete((result, exception) -> {
+                if (exception != null) {
+                    circuitBreaker.onFailure();
+                    spill(topic, key, value, headers, replayed);
+                    log.error("Ошибка отправки сообщения в топик {}, сообщение отложено: {}", topic, exception.getMessage());
+                } else {
+                    circuitBreaker.onSuccess();
+                    spillBuffer.release(replayed);
+                    tracing.recordProduce(start);
+                    log.info("Сообщение успешно отправлено в топик {}: {}", topic, result);
+                }
+            });
         } catch (Exception ex) {
+            circuitBreaker.onFailure();
+            spill(topic, key, value, headers, replayed);
             log.error(ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Откладывает неотправленное сообщение: новое — в конец буфера, повторное — обратно на свое место.
+     */
+    private void spill(String topic, String key, Object value, Headers headers, KafkaSpillBuffer.SpilledMessage replayed) {
+        if (replayed != null) {
+            spillBuffer.requeue(replayed);
+        } else {
+            spillBuffer.add(topic, key, value, headers);
+        }
+    }
+
+    /**
+     * Добавляет результат отправки в список ожидания, если сообщение было передано продюсеру.
+     */
+    private static void addIfSent(List<CompletableFuture<?>> futures, CompletableFuture<?> future) {
+        if (future != null) {
+            futures.add(future);
+        }
+    }
+
+    /**
+     * Ожидает подтверждения отправок не дольше настроенного таймаута.
+     * Ошибки уже обработаны в {@link #doSend(String, String, Object, Headers, KafkaSpillBuffer.SpilledMessage)}.
+     */
+    private void await(List<CompletableFuture<?>> futures) {
+        if (futures.isEmpty()) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Брокер не подтвердил отправку за {}, результат будет обработан асинхронно",
+                    properties.getSendTimeout());
+        } catch (ExecutionException e) {
+            log.debug("Часть сообщений не отправлена: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 }
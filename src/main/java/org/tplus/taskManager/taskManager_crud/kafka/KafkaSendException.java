@@ -0,0 +1,19 @@
+package org.tplus.taskManager.taskManager_crud.kafka;
+
+/**
+ * Выбрасывается, если брокер не подтвердил отправку сообщения, которое нельзя отложить в буфер.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class KafkaSendException extends RuntimeException {
+
+    public KafkaSendException(String message) {
+        super(message);
+    }
+
+    public KafkaSendException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
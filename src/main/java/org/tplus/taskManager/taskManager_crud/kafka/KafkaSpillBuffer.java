@@ -0,0 +1,183 @@
+package org.tplus.taskManager.taskManager_crud.kafka;
+
+import org.apache.kafka.common.header.Headers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограниченный буфер сообщений, которые не удалось отправить в Kafka.
+ * <p>
+ * Хранится в памяти: при переполнении вытесняются самые старые сообщения, при остановке приложения
+ * содержимое теряется. Отправка из буфера выполняется {@link KafkaClientProducer#replaySpilled()}.
+ * </p>
+ * <p>
+ * Буфер помнит ключи отложенных сообщений, пока они не будут подтверждены брокером после повторной отправки:
+ * новые сообщения с таким же ключом тоже откладываются, чтобы сообщения одного ключа не обгоняли друг друга.
+ * Из буфера одновременно отправляется не больше одного сообщения каждого ключа, а неотправленное сообщение
+ * возвращается на свое исходное место, поэтому порядок внутри ключа сохраняется и при повторных ошибках.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class KafkaSpillBuffer {
+
+    /**
+     * Сообщение, ожидающее повторной отправки.
+     *
+     * @param topic   топик назначения
+     * @param key     ключ сообщения или {@code null}
+     * @param payload значение сообщения
+     * @param headers  заголовки исходной отправки, включая время создания события и контекст трассировки
+     * @param sequence порядковый номер поступления в буфер
+     */
+    public record SpilledMessage(String topic, String key, Object payload, Headers headers, long sequence) {
+    }
+
+    /**
+     * Сообщения по порядковому номеру поступления.
+     */
+    private final TreeMap<Long, SpilledMessage> messages = new TreeMap<>();
+    /**
+     * Количество неподтвержденных сообщений по топику и ключу: в буфере и в повторной отправке.
+     */
+    private final Map<List<String>, Integer> pendingKeys = new HashMap<>();
+    /**
+     * Топики и ключи сообщений, извлеченных {@link #poll(int)} и еще не подтвержденных или не возвращенных.
+     */
+    private final Set<List<String>> inFlightKeys = new HashSet<>();
+    /**
+     * Порядковый номер следующего сообщения.
+     */
+    private long nextSequence;
+    /**
+     * Максимальное количество сообщений.
+     */
+    private final int capacity;
+    /**
+     * Количество сообщений, вытесненных при переполнении.
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    public KafkaSpillBuffer(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Добавляет сообщение в конец буфера, при переполнении вытесняя самое старое.
+     *
+     * @param topic   топик назначения
+     * @param key     ключ сообщения или {@code null}
+     * @param payload значение сообщения
+     * @param headers заголовки сообщения
+     */
+    public synchronized void add(String topic, String key, Object payload, Headers headers) {
+        if (messages.size() >= capacity) {
+            forget(messages.pollFirstEntry().getValue());
+            dropped.incrementAndGet();
+        }
+        SpilledMessage message = new SpilledMessage(topic, key, payload, headers, nextSequence++);
+        messages.put(message.sequence(), message);
+        if (key != null) {
+            pendingKeys.merge(List.of(topic, key), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Возвращает на исходное место сообщение, повторная отправка которого не удалась, и освобождает его ключ
+     * для следующего {@link #poll(int)}. Если буфер заполнен, вытесняется самое новое сообщение.
+     *
+     * @param message сообщение, извлеченное {@link #poll(int)}
+     */
+    public synchronized void requeue(SpilledMessage message) {
+        if (message.key() != null) {
+            inFlightKeys.remove(List.of(message.topic(), message.key()));
+        }
+        if (messages.size() >= capacity) {
+            forget(messages.pollLastEntry().getValue());
+            dropped.incrementAndGet();
+        }
+        messages.put(message.sequence(), message);
+    }
+
+    /**
+     * Отмечает, что сообщение, извлеченное {@link #poll(int)}, подтверждено брокером.
+     *
+     * @param message сообщение
+     */
+    public synchronized void release(SpilledMessage message) {
+        if (message == null || message.key() == null) {
+            return;
+        }
+        inFlightKeys.remove(List.of(message.topic(), message.key()));
+        forget(message);
+    }
+
+    /**
+     * Уменьшает счетчик неподтвержденных сообщений ключа.
+     *
+     * @param message подтвержденное или вытесненное сообщение
+     */
+    private void forget(SpilledMessage message) {
+        if (message.key() == null) {
+            return;
+        }
+        pendingKeys.computeIfPresent(List.of(message.topic(), message.key()), (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Проверяет, есть ли неподтвержденные сообщения с таким же топиком и ключом.
+     *
+     * @param topic топик назначения
+     * @param key   ключ сообщения или {@code null}
+     * @return {@code true}, если новое сообщение нужно отложить вслед за ними
+     */
+    public synchronized boolean hasPending(String topic, String key) {
+        return key != null && pendingKeys.containsKey(List.of(topic, key));
+    }
+
+    /**
+     * Извлекает в порядке поступления не более {@code max} сообщений, не больше одного на ключ.
+     * Сообщения ключа, предыдущее сообщение которого еще отправляется, пропускаются. Ключи извлеченных
+     * сообщений остаются занятыми до вызова {@link #release(SpilledMessage)} или {@link #requeue(SpilledMessage)}.
+     *
+     * @param max максимальное количество сообщений
+     * @return извлеченные сообщения
+     */
+    public synchronized List<SpilledMessage> poll(int max) {
+        List<SpilledMessage> result = new ArrayList<>(Math.min(max, messages.size()));
+        Iterator<SpilledMessage> iterator = messages.values().iterator();
+        while (result.size() < max && iterator.hasNext()) {
+            SpilledMessage message = iterator.next();
+            if (message.key() != null && !inFlightKeys.add(List.of(message.topic(), message.key()))) {
+                continue;
+            }
+            iterator.remove();
+            result.add(message);
+        }
+        return result;
+    }
+
+    /**
+     * @return количество сообщений в буфере
+     */
+    public synchronized int size() {
+        return messages.size();
+    }
+
+    /**
+     * @return количество сообщений, вытесненных при переполнении
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,58 @@
+package org.tplus.taskManager.taskManager_crud.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+import org.tplus.taskManager.taskManager_crud.dto.TaskCommandDto;
+import org.tplus.taskManager.taskManager_crud.services.TaskCommandService;
+
+import java.util.List;
+
+/**
+ * Kafka-консьюмер команд записи задач из топика {@code t_plus_tasks_commands}.
+ * <p>
+ * Каждый poll возвращает до {@code task-commands.batch-size} команд, которые применяются
+ * {@link TaskCommandService#apply(List)} одной транзакцией на шард. Смещения подтверждаются только
+ * после фиксации: при ошибке {@link org.springframework.kafka.listener.BatchListenerFailedException}
+ * указывает, с какой команды пачка читается повторно, а уже примененные команды пропускаются.
+ * Повторы и отправку в топик недоставленных сообщений настраивает
+ * {@link org.tplus.taskManager.taskManager_crud.config.KafkaConfig#taskCommandListenerContainerFactory}.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class TaskCommandConsumer {
+
+    /**
+     * Сервис применения команд.
+     */
+    private final TaskCommandService taskCommandService;
+
+    /**
+     * Обработчик сообщений из Kafka.
+     *
+     * @param messages список полученных команд
+     * @param ack      объект для ручного подтверждения получения сообщений
+     */
+    @KafkaListener(id = "t_plus_tasks_commands",
+            topics = "t_plus_tasks_commands",
+            groupId = "t_plus_tasks_commands",
+            properties = {
+                    "max.poll.records=${task-commands.batch-size:500}",
+                    "max.poll.interval.ms=${t_plus_tasks.kafka.commands.max.poll.interval.ms:60000}"
+            },
+            containerFactory = "taskCommandListenerContainerFactory")
+    public void listener(@Payload List<TaskCommandDto> messages, Acknowledgment ack) {
+        taskCommandService.apply(messages);
+        ack.acknowledge();
+        log.debug("commands: Обработано команд: {}", messages.size());
+    }
+}
@@ -0,0 +1,176 @@
+package org.tplus.taskManager.taskManager_crud.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Трассировка и метрики задержек на пути события от изменения задачи до отправки email.
+ * <p>
+ * При публикации в заголовки сообщения Kafka записываются время создания события
+ * ({@value #CREATED_AT_HEADER}) и контекст трассировки текущего HTTP-запроса, на стороне
+ * консьюмера из них восстанавливается родительский span. Задержки каждого этапа публикуются
+ * гистограммами {@code task.pipeline.stage} с тегом {@code stage}:
+ * <ul>
+ *     <li>{@code produce} — от передачи сообщения продюсеру до подтверждения брокера;</li>
+ *     <li>{@code broker} — от отметки времени сообщения до получения консьюмером;</li>
+ *     <li>{@code consume} — от получения пачки до начала обработки сообщения;</li>
+ *     <li>{@code email} — отправка письма.</li>
+ * </ul>
+ * Полная задержка от создания события до отправки письма публикуется как {@code task.pipeline.end_to_end}
+ * с границей гистограммы на бюджете {@code task-pipeline.latency-budget}.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+public class TaskPipelineTracing {
+    /**
+     * Заголовок с временем создания события в миллисекундах от эпохи.
+     */
+    public static final String CREATED_AT_HEADER = "task-event-created-at";
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+    private final Timer produceTimer;
+    private final Timer brokerTimer;
+    private final Timer consumeTimer;
+    private final Timer emailTimer;
+    private final Timer endToEndTimer;
+
+    public TaskPipelineTracing(ObjectProvider<Tracer> tracer,
+                               ObjectProvider<Propagator> propagator,
+                               MeterRegistry meterRegistry,
+                               @Value("${task-pipeline.latency-budget:PT5S}") Duration latencyBudget) {
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+        this.propagator = propagator.getIfAvailable(() -> Propagator.NOOP);
+        this.produceTimer = stageTimer("produce", meterRegistry);
+        this.brokerTimer = stageTimer("broker", meterRegistry);
+        this.consumeTimer = stageTimer("consume", meterRegistry);
+        this.emailTimer = stageTimer("email", meterRegistry);
+        this.endToEndTimer = Timer.builder("task.pipeline.end_to_end")
+                .description("Задержка от изменения задачи до отправки email")
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(latencyBudget)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Создает заголовки нового события: время создания и контекст трассировки текущего потока.
+     *
+     * @return заголовки сообщения
+     */
+    public Headers newHeaders() {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(CREATED_AT_HEADER, Long.toString(System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8));
+        TraceContext context = tracer.currentTraceContext().context();
+        if (context != null) {
+            propagator.inject(context, headers, (carrier, key, value) ->
+                    carrier.remove(key).add(key, value.getBytes(StandardCharsets.UTF_8)));
+        }
+        return headers;
+    }
+
+    /**
+     * Начинает span обработки сообщения консьюмером как продолжение трассы продюсера.
+     *
+     * @param record сообщение Kafka
+     * @return начатый span; вызывающий должен завершить его
+     */
+    public Span startConsumerSpan(ConsumerRecord<?, ?> record) {
+        return propagator.extract(record.headers(), TaskPipelineTracing::header)
+                .name("task-status-notification")
+                .kind(Span.Kind.CONSUMER)
+                .tag("messaging.destination.name", record.topic())
+                .start();
+    }
+
+    /**
+     * Делает span текущим в потоке, чтобы идентификаторы трассы попадали в логи.
+     *
+     * @param span span обработки
+     * @return область действия span
+     */
+    public Tracer.SpanInScope withSpan(Span span) {
+        return tracer.withSpan(span);
+    }
+
+    /**
+     * Записывает время от передачи сообщения продюсеру до подтверждения брокера.
+     *
+     * @param startNanos момент передачи по {@link System#nanoTime()}
+     */
+    public void recordProduce(long startNanos) {
+        produceTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Записывает время от отметки времени сообщения до его получения консьюмером.
+     *
+     * @param record       сообщение Kafka
+     * @param receivedAtMs момент получения пачки в миллисекундах от эпохи
+     */
+    public void recordBroker(ConsumerRecord<?, ?> record, long receivedAtMs) {
+        if (record.timestamp() > 0) {
+            brokerTimer.record(Math.max(0, receivedAtMs - record.timestamp()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Записывает время от получения пачки до начала обработки сообщения.
+     *
+     * @param batchStartNanos момент получения пачки по {@link System#nanoTime()}
+     */
+    public void recordConsume(long batchStartNanos) {
+        consumeTimer.record(System.nanoTime() - batchStartNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return таймер отправки email
+     */
+    public Timer emailTimer() {
+        return emailTimer;
+    }
+
+    /**
+     * Записывает полную задержку по времени создания события из заголовка.
+     *
+     * @param record сообщение Kafka
+     */
+    public void recordEndToEnd(ConsumerRecord<?, ?> record) {
+        String createdAt = header(record.headers(), CREATED_AT_HEADER);
+        if (createdAt != null) {
+            endToEndTimer.record(Math.max(0, System.currentTimeMillis() - Long.parseLong(createdAt)),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Timer stageTimer(String stage, MeterRegistry meterRegistry) {
+        return Timer.builder("task.pipeline.stage")
+                .description("Задержка этапа доставки уведомления об изменении задачи")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String header(Headers headers, String key) {
+        Header header = headers.lastHeader(key);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
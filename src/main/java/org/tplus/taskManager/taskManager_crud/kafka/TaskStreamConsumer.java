@@ -0,0 +1,60 @@
+package org.tplus.taskManager.taskManager_crud.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatusUpdateDto;
+import org.tplus.taskManager.taskManager_crud.stream.TaskStreamService;
+
+import java.util.List;
+
+/**
+ * Kafka-консьюмер, передающий изменения статуса задач в поток {@code GET /tasks/stream}.
+ * <p>
+ * В отличие от {@link KafkaClientConsumer}, каждый экземпляр приложения читает топик в собственной
+ * группе, чтобы получить все события, а не часть партиций. Группа создается заново при каждом запуске
+ * и начинает чтение с конца топика: историю до запуска клиенту не восстановить. Offset'ы группы
+ * не фиксируются (см. {@code KafkaConfig#taskStreamListenerContainerFactory}), поэтому после остановки
+ * экземпляра в брокере не остается ее следов.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class TaskStreamConsumer {
+
+    /**
+     * Сервис раздачи событий SSE-клиентам.
+     */
+    private final TaskStreamService taskStreamService;
+
+    /**
+     * Обработчик сообщений из Kafka.
+     *
+     * @param messages   список полученных сообщений
+     * @param partitions партиции сообщений
+     * @param offsets    offset'ы сообщений
+     */
+    @KafkaListener(id = "t_plus_tasks_stream",
+            topics = "t_plus_tasks_update_status",
+            groupId = "t_plus_tasks_stream-#{T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest",
+            containerFactory = "taskStreamListenerContainerFactory")
+    public void listener(@Payload List<TaskStatusUpdateDto> messages,
+                         @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
+                         @Header(KafkaHeaders.OFFSET) List<Long> offsets) {
+        for (int i = 0; i < messages.size(); i++) {
+            taskStreamService.publish(partitions.get(i), offsets.get(i), messages.get(i));
+        }
+        log.debug("stream: Разослано событий: {}, подключений: {}",
+                messages.size(), taskStreamService.getSubscriberCount());
+    }
+}
@@ -0,0 +1,138 @@
+package org.tplus.taskManager.taskManager_crud.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ограничитель количества одновременно выполняющихся запросов.
+ * <p>
+ * В адаптивном режиме лимит подстраивается по алгоритму AIMD на основе градиента задержки:
+ * пока задержка остается в пределах {@code rttTolerance} от минимальной наблюдаемой, а лимит
+ * используется хотя бы наполовину, лимит растет на единицу; как только задержка выходит за эти пределы,
+ * что означает образование очереди (например, за соединениями Hikari), лимит уменьшается мультипликативно.
+ * </p>
+ * <p>
+ * Уменьшение применяется не чаще одного раза за круг запросов: после него должны завершиться
+ * столько запросов, каков новый лимит, иначе одна медленная пачка, начатая еще при старом лимите,
+ * сбросила бы лимит до минимума. Базовая задержка — минимум по текущему и предыдущему окну
+ * из {@code minRttWindow} замеров, поэтому она не подменяется одним замером под нагрузкой.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class AdaptiveConcurrencyLimiter {
+    /**
+     * Параметры лимита.
+     */
+    private final AdmissionControlProperties.Limit properties;
+    /**
+     * Количество запросов, выполняющихся в данный момент.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /**
+     * Количество отклоненных запросов.
+     */
+    private final LongAdder rejected = new LongAdder();
+    /**
+     * Текущий лимит.
+     */
+    private volatile double limit;
+    /**
+     * Минимальная задержка в текущем окне замеров, нс.
+     */
+    private long windowMinRttNanos = Long.MAX_VALUE;
+    /**
+     * Минимальная задержка в предыдущем окне замеров, нс.
+     */
+    private long previousWindowMinRttNanos = Long.MAX_VALUE;
+    /**
+     * Количество замеров в текущем окне.
+     */
+    private int samples;
+    /**
+     * Количество замеров после последнего уменьшения лимита.
+     */
+    private int samplesSinceDecrease = Integer.MAX_VALUE;
+
+    public AdaptiveConcurrencyLimiter(AdmissionControlProperties.Limit properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+
+    /**
+     * Пытается занять место для нового запроса.
+     *
+     * @return {@code true}, если запрос можно выполнять; в этом случае обязателен вызов {@link #release(long)}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Освобождает место, занятое запросом, и учитывает его задержку.
+     *
+     * @param rttNanos время выполнения запроса, нс
+     */
+    public void release(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (properties.isAdaptive()) {
+            onSample(rttNanos, inFlightAtCompletion);
+        }
+    }
+
+    /**
+     * Пересчитывает лимит по очередному замеру задержки.
+     *
+     * @param rttNanos             время выполнения запроса, нс
+     * @param inFlightAtCompletion количество выполнявшихся запросов в момент завершения
+     */
+    private synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+        long minRttNanos = Math.min(windowMinRttNanos, previousWindowMinRttNanos);
+        if (++samples >= properties.getMinRttWindow()) {
+            samples = 0;
+            previousWindowMinRttNanos = windowMinRttNanos;
+            windowMinRttNanos = Long.MAX_VALUE;
+        }
+        if (samplesSinceDecrease < Integer.MAX_VALUE) {
+            samplesSinceDecrease++;
+        }
+
+        double newLimit;
+        if (rttNanos > minRttNanos * properties.getRttTolerance()) {
+            if (samplesSinceDecrease < (int) limit) {
+                return;
+            }
+            samplesSinceDecrease = 0;
+            newLimit = limit * properties.getBackoffRatio();
+        } else if (inFlightAtCompletion * 2 >= limit) {
+            newLimit = limit + 1;
+        } else {
+            return;
+        }
+        limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), newLimit));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
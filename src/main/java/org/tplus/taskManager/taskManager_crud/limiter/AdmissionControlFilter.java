@@ -0,0 +1,113 @@
+package org.tplus.taskManager.taskManager_crud.limiter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Фильтр допуска запросов к {@code /tasks}.
+ * <p>
+ * Запросы ограничиваются отдельными {@link AdaptiveConcurrencyLimiter} по классам маршрутов:
+ * точечное чтение ({@code GET /tasks/{id}}, {@code GET /tasks?ids=}, {@code POST /tasks/lookup}),
+ * чтение всего списка ({@code GET /tasks}) и изменения. У каждого класса своя минимальная задержка,
+ * поэтому долгие выборки списка не считаются перегрузкой на фоне быстрых точечных запросов.
+ * Если лимит исчерпан, запрос сразу отклоняется со статусом из настроек и заголовком Retry-After,
+ * не занимая поток Tomcat в ожидании соединения с БД.
+ * </p>
+ * <p>
+ * Долгоживущие подключения {@code GET /tasks/stream} не ограничиваются: они не обращаются к БД,
+ * а удерживали бы разрешение на чтение все время соединения.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    /**
+     * Ограничитель точечных запросов на чтение.
+     */
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    /**
+     * Ограничитель чтения всего списка задач.
+     */
+    private final AdaptiveConcurrencyLimiter listLimiter;
+    /**
+     * Ограничитель запросов на изменение.
+     */
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    /**
+     * Настройки ограничения.
+     */
+    private final AdmissionControlProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = limiterFor(request);
+        if (!limiter.tryAcquire()) {
+            log.debug("Запрос {} {} отклонен: лимит {} исчерпан",
+                    request.getMethod(), request.getRequestURI(), limiter.getLimit());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+            response.sendError(properties.getRejectStatus());
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().endsWith("/tasks/stream");
+    }
+
+    /**
+     * Выбирает ограничитель по классу маршрута.
+     *
+     * @param request HTTP-запрос
+     * @return ограничитель изменений, чтения списка или точечного чтения
+     */
+    private AdaptiveConcurrencyLimiter limiterFor(HttpServletRequest request) {
+        if (!isRead(request)) {
+            return writeLimiter;
+        }
+        return isList(request) ? listLimiter : readLimiter;
+    }
+
+    /**
+     * Определяет, запрошен ли список задач без набора идентификаторов.
+     *
+     * @param request HTTP-запрос
+     * @return {@code true} для {@code GET /tasks} без параметра {@code ids}
+     */
+    private boolean isList(HttpServletRequest request) {
+        return request.getRequestURI().endsWith("/tasks") && request.getParameter("ids") == null;
+    }
+
+    /**
+     * Определяет, относится ли запрос к чтению.
+     *
+     * @param request HTTP-запрос
+     * @return {@code true} для GET, HEAD и {@code POST /tasks/lookup}
+     */
+    private boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod())
+                || HttpMethod.HEAD.matches(request.getMethod())
+                || request.getRequestURI().endsWith("/tasks/lookup");
+    }
+}
@@ -0,0 +1,117 @@
+package org.tplus.taskManager.taskManager_crud.limiter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные свойства ограничения конкурентности запросов к {@code /tasks}.
+ * <p>
+ * Лимиты задаются отдельно для точечного чтения, чтения всего списка и изменяющих запросов.
+ * Пример конфигурации в application.yml:
+ * <pre>
+ * admission-control:
+ *   enabled: true
+ *   reject-status: 503
+ *   retry-after: PT1S
+ *   reads:
+ *     adaptive: true
+ *     initial-limit: 20
+ *   lists:
+ *     initial-limit: 10
+ *   writes:
+ *     adaptive: false
+ *     initial-limit: 10
+ * </pre>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@ConfigurationProperties(prefix = "admission-control")
+public class AdmissionControlProperties {
+
+    /**
+     * Включено ли ограничение конкурентности.
+     */
+    private boolean enabled = true;
+
+    /**
+     * HTTP-статус ответа на отклоненный запрос (429 или 503).
+     */
+    private int rejectStatus = 503;
+
+    /**
+     * Значение заголовка Retry-After для отклоненных запросов.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Лимит для точечных запросов на чтение: по идентификатору, по набору идентификаторов.
+     */
+    private Limit reads = new Limit(20, 4, 200);
+
+    /**
+     * Лимит для чтения всего списка задач ({@code GET /tasks}).
+     */
+    private Limit lists = new Limit(10, 2, 50);
+
+    /**
+     * Лимит для запросов на изменение.
+     */
+    private Limit writes = new Limit(10, 2, 50);
+
+    /**
+     * Параметры лимита одного класса запросов.
+     */
+    @Data
+    public static class Limit {
+
+        /**
+         * Подстраивать ли лимит под задержку ответов. При {@code false} лимит постоянен и равен initialLimit.
+         */
+        private boolean adaptive = true;
+
+        /**
+         * Начальный лимит одновременно выполняющихся запросов.
+         */
+        private int initialLimit;
+
+        /**
+         * Нижняя граница адаптивного лимита.
+         */
+        private int minLimit;
+
+        /**
+         * Верхняя граница адаптивного лимита.
+         */
+        private int maxLimit;
+
+        /**
+         * Множитель уменьшения лимита при росте задержки.
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * Во сколько раз задержка может превысить минимальную, прежде чем лимит начнет уменьшаться.
+         */
+        private double rttTolerance = 2.0;
+
+        /**
+         * Размер окна замеров минимальной задержки: базовой считается минимальная задержка
+         * за текущее и предыдущее окно.
+         */
+        private int minRttWindow = 500;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
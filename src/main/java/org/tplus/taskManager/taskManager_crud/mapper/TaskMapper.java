@@ -1,10 +1,17 @@
 package org.tplus.taskManager.taskManager_crud.mapper;
 
+import com.google.protobuf.Timestamp;
 import org.springframework.stereotype.Component;
 import org.tplus.taskManager.taskManager_crud.dto.TaskDto;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
 import org.tplus.taskManager.taskManager_crud.dto.TaskStatusUpdateDto;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.TaskMessage;
+import org.tplus.taskManager.taskManager_crud.grpc.proto.TaskStatusMessage;
+import org.tplus.taskManager.taskManager_crud.model.ArchivedTask;
 import org.tplus.taskManager.taskManager_crud.model.Task;
 
+import java.time.Instant;
+
 /**
  * Утилитный класс для преобразования между сущностью {@link Task} и различными DTO.
  * <p>
@@ -29,7 +36,25 @@ public class TaskMapper {
                 task.getTitle(),
                 task.getDescription(),
                 task.getUserId(),
-                task.getStatus()
+                task.getStatus(),
+                task.getDueDate()
+        );
+    }
+
+    /**
+     * Преобразует архивную задачу {@link ArchivedTask} в {@link TaskDto}.
+     *
+     * @param task архивная задача
+     * @return DTO задачи
+     */
+    public TaskDto toTaskDto(ArchivedTask task) {
+        return new TaskDto(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getUserId(),
+                task.getStatus(),
+                task.getDueDate()
         );
     }
 
@@ -45,7 +70,8 @@ public class TaskMapper {
                 taskDto.getTitle(),
                 taskDto.getDescription(),
                 taskDto.getUserId(),
-                taskDto.getStatus()
+                taskDto.getStatus(),
+                taskDto.getDueDate()
         );
     }
 
@@ -61,7 +87,77 @@ public class TaskMapper {
     public TaskStatusUpdateDto toStatusUpdateDto(Task task) {
         return TaskStatusUpdateDto.builder()
                 .id(task.getId())
+                .userId(task.getUserId())
                 .status(task.getStatus())
                 .build();
     }
+
+    /**
+     * Преобразует {@link TaskDto} в сообщение gRPC {@link TaskMessage}.
+     * <p>
+     * Незаполненные поля DTO в сообщение не записываются.
+     * </p>
+     *
+     * @param task DTO задачи
+     * @return сообщение задачи
+     */
+    public TaskMessage toTaskMessage(TaskDto task) {
+        TaskMessage.Builder builder = TaskMessage.newBuilder();
+        if (task.getId() != null) {
+            builder.setId(task.getId());
+        }
+        if (task.getTitle() != null) {
+            builder.setTitle(task.getTitle());
+        }
+        if (task.getDescription() != null) {
+            builder.setDescription(task.getDescription());
+        }
+        if (task.getUserId() != null) {
+            builder.setUserId(task.getUserId());
+        }
+        if (task.getStatus() != null) {
+            builder.setStatus(TaskStatusMessage.valueOf(task.getStatus().name()));
+        }
+        if (task.getDueDate() != null) {
+            builder.setDueDate(Timestamp.newBuilder()
+                    .setSeconds(task.getDueDate().getEpochSecond())
+                    .setNanos(task.getDueDate().getNano()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Преобразует сообщение gRPC {@link TaskMessage} в {@link TaskDto}.
+     *
+     * @param message сообщение задачи
+     * @return DTO задачи
+     * @throws IllegalArgumentException если статус задачи неизвестен
+     */
+    public TaskDto toTaskDto(TaskMessage message) {
+        return new TaskDto(
+                message.getId() == 0 ? null : message.getId(),
+                message.hasTitle() ? message.getTitle() : null,
+                message.hasDescription() ? message.getDescription() : null,
+                message.hasUserId() ? message.getUserId() : null,
+                toTaskStatus(message.getStatus()),
+                message.hasDueDate()
+                        ? Instant.ofEpochSecond(message.getDueDate().getSeconds(), message.getDueDate().getNanos())
+                        : null
+        );
+    }
+
+    /**
+     * Преобразует статус из сообщения gRPC.
+     *
+     * @param status статус в сообщении
+     * @return статус задачи или {@code null}, если статус не указан
+     * @throws IllegalArgumentException если статус неизвестен
+     */
+    private TaskStatus toTaskStatus(TaskStatusMessage status) {
+        return switch (status) {
+            case TASK_STATUS_UNSPECIFIED -> null;
+            case UNRECOGNIZED -> throw new IllegalArgumentException("Unknown task status");
+            default -> TaskStatus.valueOf(status.name());
+        };
+    }
 }
@@ -0,0 +1,59 @@
+package org.tplus.taskManager.taskManager_crud.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
+
+import java.time.Instant;
+
+/**
+ * Класс {@code ArchivedTask} представляет задачу, перенесенную фоновым процессом архивации
+ * из таблицы {@code tasks} в таблицу {@code tasks_archive}.
+ *
+ * <p>Архивные задачи доступны только для чтения и возвращаются API лишь по явному запросу.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "tasks_archive")
+public class ArchivedTask {
+    /**
+     * Идентификатор задачи, сохраненный из основной таблицы.
+     */
+    @Id
+    private Long id;
+    /**
+     * Название задачи.
+     */
+    private String title;
+    /**
+     * Подробное описание задачи.
+     */
+    private String description;
+    /**
+     * Идентификатор пользователя, которому принадлежит задача.
+     */
+    private Long userId;
+    /**
+     * Статус задачи на момент архивации.
+     */
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+    /**
+     * Срок выполнения задачи.
+     */
+    private Instant dueDate;
+    /**
+     * Момент переноса задачи в архив.
+     */
+    private Instant archivedAt;
+}
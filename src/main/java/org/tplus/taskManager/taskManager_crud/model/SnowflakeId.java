@@ -0,0 +1,23 @@
+package org.tplus.taskManager.taskManager_crud.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+import org.tplus.taskManager.taskManager_crud.sharding.SnowflakeIdGenerator;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Помечает идентификатор сущности, значение которого выдается {@link SnowflakeIdGenerator}
+ * до вставки строки, а не базой данных.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@IdGeneratorType(SnowflakeIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
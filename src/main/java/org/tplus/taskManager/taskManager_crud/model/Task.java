@@ -5,8 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
 import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
 
+import java.time.Instant;
+
 /**
  * Класс {@code Task} представляет собой сущность задачи, используемую в системе управления задачами.
  *
@@ -19,8 +22,9 @@ import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
  * <ul>
  *     <li>{@code @Entity} - указывает, что класс является сущностью JPA</li>
  *     <li>{@code @Table(name = "tasks")} - задает имя таблицы в базе данных</li>
+ *     <li>{@code @SQLRestriction} - скрывает из всех выборок мягко удаленные задачи (колонка deleted_at)</li>
  *     <li>{@code @Id} - определяет первичный ключ</li>
- *     <li>{@code @GeneratedValue(strategy = GenerationType.IDENTITY)} - указывает способ генерации идентификаторов</li>
+ *     <li>{@code @SnowflakeId} - идентификатор выдается приложением до вставки, он глобально уникален между шардами</li>
  *     <li>{@code @Getter}, {@code @Setter} - автоматически генерируют геттеры и сеттеры (Lombok)</li>
  *     <li>{@code @NoArgsConstructor}, {@code @AllArgsConstructor} - генерируют конструкторы без параметров и со всеми полями (Lombok)</li>
  * </ul>
@@ -35,13 +39,14 @@ import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
 @AllArgsConstructor
 @Entity
 @Table(name = "tasks")
+@SQLRestriction("deleted_at IS NULL")
 public class Task {
     /**
      * Уникальный идентификатор задачи.
      * Генерируется автоматически при сохранении в базу данных.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
     /**
      * Название задачи.
@@ -63,4 +68,8 @@ public class Task {
      */
     @Enumerated(EnumType.STRING)
     private TaskStatus status;
+    /**
+     * Срок выполнения задачи. По его наступлении отправляется событие о просрочке.
+     */
+    private Instant dueDate;
 }
@@ -0,0 +1,66 @@
+package org.tplus.taskManager.taskManager_crud.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.domain.Persistable;
+import org.tplus.taskManager.taskManager_crud.dto.TaskCommandStatus;
+import org.tplus.taskManager.taskManager_crud.dto.TaskCommandType;
+
+import java.time.Instant;
+
+/**
+ * Результат асинхронной команды записи задачи.
+ *
+ * <p>Идентификатор выдается при приеме команды, поэтому сущность всегда новая: {@code save} выполняет
+ * вставку без предварительного SELECT, и вставки пачки объединяются в один пакет JDBC.
+ * Записи не изменяются.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(name = "task_commands")
+public class TaskCommand implements Persistable<Long> {
+    /**
+     * Идентификатор команды.
+     */
+    @Id
+    private Long id;
+    /**
+     * Тип команды.
+     */
+    @Enumerated(EnumType.STRING)
+    private TaskCommandType type;
+    /**
+     * Идентификатор созданной или измененной задачи.
+     */
+    private Long taskId;
+    /**
+     * Итог применения.
+     */
+    @Enumerated(EnumType.STRING)
+    private TaskCommandStatus status;
+    /**
+     * Описание ошибки.
+     */
+    private String error;
+    /**
+     * Момент применения.
+     */
+    private Instant completedAt;
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
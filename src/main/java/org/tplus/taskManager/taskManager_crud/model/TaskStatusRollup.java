@@ -0,0 +1,76 @@
+package org.tplus.taskManager.taskManager_crud.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Ежедневный агрегат по статусу задач пользователя.
+ *
+ * <p>Строки изменяются только атомарными upsert-запросами
+ * {@link org.tplus.taskManager.taskManager_crud.repository.TaskStatusRollupRepository},
+ * поэтому сущность доступна только для чтения.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Immutable
+@IdClass(TaskStatusRollup.Key.class)
+@Table(name = "task_status_daily_rollup")
+public class TaskStatusRollup {
+    /**
+     * Идентификатор пользователя, 0 — задачи без пользователя.
+     */
+    @Id
+    private Long userId;
+    /**
+     * День (UTC).
+     */
+    @Id
+    private LocalDate day;
+    /**
+     * Статус задачи.
+     */
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+    /**
+     * Количество переходов в статус за день.
+     */
+    private long enteredCount;
+    /**
+     * Количество выходов из статуса за день.
+     */
+    private long exitedCount;
+    /**
+     * Суммарное время в статусе задач, вышедших из него за день, мс.
+     */
+    private long totalDurationMs;
+
+    /**
+     * Составной ключ агрегата.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate day;
+        private TaskStatus status;
+    }
+}
@@ -0,0 +1,57 @@
+package org.tplus.taskManager.taskManager_crud.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
+
+import java.time.Instant;
+
+/**
+ * Запись журнала смен статуса задачи.
+ *
+ * <p>Журнал только дополняется: записи не изменяются и не удаляются.
+ * Для создания задачи записывается переход из {@code null} в начальный статус.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "task_status_history")
+public class TaskStatusTransition {
+    /**
+     * Идентификатор записи журнала.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * Идентификатор задачи.
+     */
+    private Long taskId;
+    /**
+     * Идентификатор пользователя задачи на момент смены статуса.
+     */
+    private Long userId;
+    /**
+     * Предыдущий статус.
+     */
+    @Enumerated(EnumType.STRING)
+    private TaskStatus fromStatus;
+    /**
+     * Новый статус.
+     */
+    @Enumerated(EnumType.STRING)
+    private TaskStatus toStatus;
+    /**
+     * Момент смены статуса.
+     */
+    private Instant changedAt;
+}
@@ -0,0 +1,147 @@
+package org.tplus.taskManager.taskManager_crud.overdue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Хешированное колесо таймеров.
+ * <p>
+ * Время делится на такты длиной {@code tick}, таймер кладется в ячейку {@code такт % wheelSize}.
+ * На каждом такте просматривается только одна ячейка, поэтому стоимость добавления, отмены и продвижения
+ * не зависит от общего количества таймеров. Таймеры, срок которых дальше одного оборота колеса,
+ * остаются в ячейке до нужного оборота.
+ * </p>
+ * <p>
+ * Ключ таймера уникален: повторное добавление с тем же ключом переносит таймер.
+ * </p>
+ *
+ * @param <T> тип данных, возвращаемых при срабатывании
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class HashedTimingWheel<T> {
+
+    /**
+     * Таймер в ячейке колеса.
+     *
+     * @param key          ключ таймера
+     * @param deadlineTick такт срабатывания
+     * @param payload      данные таймера
+     */
+    private record Timeout<T>(long key, long deadlineTick, T payload) {
+    }
+
+    /**
+     * Длина такта в миллисекундах.
+     */
+    private final long tickMillis;
+    /**
+     * Ячейки колеса.
+     */
+    private final List<Map<Long, Timeout<T>>> buckets;
+    /**
+     * Все таймеры по ключу.
+     */
+    private final Map<Long, Timeout<T>> timeouts = new HashMap<>();
+    /**
+     * Последний обработанный такт.
+     */
+    private long currentTick;
+
+    /**
+     * @param tick        длина такта
+     * @param wheelSize   количество ячеек
+     * @param startMillis момент запуска в миллисекундах от эпохи
+     */
+    public HashedTimingWheel(Duration tick, int wheelSize, long startMillis) {
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new HashMap<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Добавляет или переносит таймер. Таймер с прошедшим сроком сработает на следующем такте.
+     *
+     * @param key      ключ таймера
+     * @param deadline срок срабатывания
+     * @param payload  данные таймера
+     */
+    public synchronized void schedule(long key, Instant deadline, T payload) {
+        cancel(key);
+        long deadlineTick = Math.max(deadline.toEpochMilli() / tickMillis, currentTick + 1);
+        Timeout<T> timeout = new Timeout<>(key, deadlineTick, payload);
+        bucket(deadlineTick).put(key, timeout);
+        timeouts.put(key, timeout);
+    }
+
+    /**
+     * Отменяет таймер.
+     *
+     * @param key ключ таймера
+     * @return {@code true}, если таймер был запланирован
+     */
+    public synchronized boolean cancel(long key) {
+        Timeout<T> timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        bucket(timeout.deadlineTick()).remove(key);
+        return true;
+    }
+
+    /**
+     * Продвигает колесо до момента {@code nowMillis} и извлекает сработавшие таймеры.
+     * Если с прошлого вызова прошло больше оборота колеса, все ячейки просматриваются один раз.
+     *
+     * @param nowMillis текущий момент в миллисекундах от эпохи
+     * @return данные сработавших таймеров в порядке тактов
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        if (targetTick - currentTick >= buckets.size()) {
+            for (Map<Long, Timeout<T>> bucket : buckets) {
+                expire(bucket, targetTick, expired);
+            }
+            currentTick = targetTick;
+            return expired;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            expire(bucket(currentTick), currentTick, expired);
+        }
+        return expired;
+    }
+
+    /**
+     * @return количество запланированных таймеров
+     */
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    private void expire(Map<Long, Timeout<T>> bucket, long tick, List<T> expired) {
+        Iterator<Timeout<T>> iterator = bucket.values().iterator();
+        while (iterator.hasNext()) {
+            Timeout<T> timeout = iterator.next();
+            if (timeout.deadlineTick() <= tick) {
+                iterator.remove();
+                timeouts.remove(timeout.key());
+                expired.add(timeout.payload());
+            }
+        }
+    }
+
+    private Map<Long, Timeout<T>> bucket(long tick) {
+        return buckets.get((int) (tick % buckets.size()));
+    }
+}
@@ -0,0 +1,16 @@
+package org.tplus.taskManager.taskManager_crud.overdue;
+
+import java.time.Instant;
+
+/**
+ * Срок выполнения задачи, запланированный в колесе таймеров.
+ *
+ * @param taskId  идентификатор задачи
+ * @param userId  идентификатор пользователя задачи
+ * @param dueDate срок выполнения
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public record TaskDeadline(Long taskId, Long userId, Instant dueDate) {
+}
@@ -0,0 +1,81 @@
+package org.tplus.taskManager.taskManager_crud.overdue;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные свойства отслеживания просроченных задач.
+ * <p>
+ * Пример конфигурации в application.yml:
+ * <pre>
+ * task-overdue:
+ *   enabled: true
+ *   tick: PT1S
+ *   window: PT10M
+ *   load-interval: PT5M
+ *   dispatch-threads: 2
+ *   outbox-interval: PT30S
+ *   outbox-lease: PT1M
+ * </pre>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@ConfigurationProperties(prefix = "task-overdue")
+public class TaskOverdueProperties {
+
+    /**
+     * Включено ли отслеживание сроков.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Длина такта колеса таймеров — точность срабатывания.
+     */
+    private Duration tick = Duration.ofSeconds(1);
+
+    /**
+     * Количество ячеек колеса таймеров.
+     */
+    private int wheelSize = 512;
+
+    /**
+     * Насколько вперед загружаются сроки из базы данных.
+     */
+    private Duration window = Duration.ofMinutes(10);
+
+    /**
+     * Интервал загрузки сроков. Должен быть меньше {@link #window}, чтобы окна перекрывались.
+     */
+    private Duration loadInterval = Duration.ofMinutes(5);
+
+    /**
+     * Максимальное количество сроков, загружаемых за один раз.
+     */
+    private int loadBatchSize = 10_000;
+
+    /**
+     * Потоки, которые отмечают наступившие сроки и отправляют события в Kafka и письма,
+     * не задерживая продвижение колеса.
+     */
+    private int dispatchThreads = 2;
+
+    /**
+     * Интервал повторной отправки событий, оставшихся в {@code task_overdue_outbox}.
+     */
+    private Duration outboxInterval = Duration.ofSeconds(30);
+
+    /**
+     * На сколько реплика захватывает событие для отправки; по истечении захвата неудачная отправка повторяется.
+     */
+    private Duration outboxLease = Duration.ofMinutes(1);
+
+    /**
+     * Максимальное количество событий, захватываемых с шарда за один раз.
+     */
+    private int outboxBatchSize = 100;
+}
@@ -0,0 +1,291 @@
+package org.tplus.taskManager.taskManager_crud.overdue;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.tplus.taskManager.taskManager_crud.dto.TaskOverdueDto;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
+import org.tplus.taskManager.taskManager_crud.kafka.KafkaClientProducer;
+import org.tplus.taskManager.taskManager_crud.repository.TaskRepository;
+import org.tplus.taskManager.taskManager_crud.services.NotificationService;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Сервис отслеживания сроков выполнения задач.
+ * <p>
+ * Вместо периодического сканирования таблицы задач сроки загружаются окнами: раз в
+ * {@link TaskOverdueProperties#getLoadInterval()} из частичного индекса читаются только задачи со сроком
+ * раньше {@code now + window}, и они раскладываются по {@link HashedTimingWheel}. Колесо продвигается
+ * собственным потоком раз в такт и только передает наступившие сроки пулу отправки, поэтому медленные
+ * Kafka и SMTP не сдвигают следующие такты.
+ * </p>
+ * <p>
+ * Наступивший срок отмечается условным UPDATE, который тем же оператором кладет событие в
+ * {@code task_overdue_outbox}; отметку ставит только одна реплика, сколько бы реплик срок ни загрузили.
+ * Событие удаляется из outbox лишь после подтверждения брокера и отправки письма, а при ошибке или падении
+ * реплики отправляется повторно после истечения захвата {@link TaskOverdueProperties#getOutboxLease()}.
+ * Доставка поэтому «хотя бы один раз»: сообщение Kafka имеет ключом идентификатор задачи, и получатель
+ * отбрасывает повтор по паре идентификатор задачи и срок.
+ * </p>
+ * <p>
+ * Изменение срока или статуса через {@link #reschedule(Long, Long, Instant, TaskStatus)} сразу переносит
+ * таймер на этой реплике; остальные реплики увидят новый срок при следующей загрузке окна.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class TaskOverdueService implements SmartLifecycle {
+    /**
+     * Репозиторий для работы с задачами в базе данных.
+     */
+    private final TaskRepository taskRepository;
+    /**
+     * Сервис email-уведомлений.
+     */
+    private final NotificationService notificationService;
+    /**
+     * Kafka-продюсер для отправки событий о просрочке.
+     * Внедряется лениво, чтобы продюсер создавался при первой отправке, а не при старте.
+     */
+    @Lazy
+    private final KafkaClientProducer kafkaClientProducer;
+    /**
+     * Настройки отслеживания сроков.
+     */
+    private final TaskOverdueProperties properties;
+    /**
+     * Название Kafka-топика для событий о просрочке задач.
+     */
+    @Value("t_plus_tasks_overdue")
+    private String overdueTopic;
+
+    /**
+     * Колесо таймеров со сроками из загруженного окна.
+     */
+    private volatile HashedTimingWheel<TaskDeadline> wheel;
+    /**
+     * Граница последнего загруженного окна: более поздние сроки в колесо не кладутся.
+     */
+    private volatile Instant horizon = Instant.MIN;
+    /**
+     * Поток продвижения колеса.
+     */
+    private ScheduledExecutorService ticker;
+    /**
+     * Пул загрузки окон, отметки сроков и отправки событий.
+     */
+    private ScheduledExecutorService dispatcher;
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        wheel = new HashedTimingWheel<>(properties.getTick(), properties.getWheelSize(), System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-overdue");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadNumber = new AtomicInteger();
+        dispatcher = Executors.newScheduledThreadPool(properties.getDispatchThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "task-overdue-dispatch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(this::loadWindow, 0, properties.getLoadInterval().toMillis(), TimeUnit.MILLISECONDS);
+        long outboxMillis = properties.getOutboxInterval().toMillis();
+        dispatcher.scheduleWithFixedDelay(this::drainOutbox, outboxMillis, outboxMillis, TimeUnit.MILLISECONDS);
+        long tickMillis = properties.getTick().toMillis();
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Отслеживание сроков задач запущено: такт {}, окно {}", properties.getTick(), properties.getWindow());
+    }
+
+    @Override
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+            dispatcher = null;
+        }
+        wheel = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    /**
+     * Переносит таймер задачи после создания или изменения.
+     *
+     * @param taskId  идентификатор задачи
+     * @param userId  идентификатор пользователя задачи
+     * @param dueDate новый срок, {@code null} — срока нет
+     * @param status  текущий статус задачи
+     */
+    public void reschedule(Long taskId, Long userId, Instant dueDate, TaskStatus status) {
+        HashedTimingWheel<TaskDeadline> current = wheel;
+        if (current == null || taskId == null) {
+            return;
+        }
+        if (dueDate != null && isOpen(status) && dueDate.isBefore(horizon)) {
+            current.schedule(taskId, dueDate, new TaskDeadline(taskId, userId, dueDate));
+        } else {
+            current.cancel(taskId);
+        }
+    }
+
+    /**
+     * @return количество сроков в колесе таймеров
+     */
+    public int getScheduledCount() {
+        HashedTimingWheel<TaskDeadline> current = wheel;
+        return current == null ? 0 : current.size();
+    }
+
+    /**
+     * Загружает в колесо сроки, наступающие до конца нового окна, включая уже наступившие,
+     * но еще не отмеченные (например, пока ни одна реплика не работала).
+     */
+    void loadWindow() {
+        try {
+            Instant newHorizon = Instant.now().plus(properties.getWindow());
+            List<Object[]> rows = taskRepository.findPendingDeadlines(newHorizon, properties.getLoadBatchSize());
+            Instant lastDueDate = null;
+            for (Object[] row : rows) {
+                Long taskId = ((Number) row[0]).longValue();
+                Long userId = row[1] == null ? null : ((Number) row[1]).longValue();
+                Instant dueDate = toInstant(row[2]);
+                wheel.schedule(taskId, dueDate, new TaskDeadline(taskId, userId, dueDate));
+                if (lastDueDate == null || dueDate.isAfter(lastDueDate)) {
+                    lastDueDate = dueDate;
+                }
+            }
+            if (rows.size() >= properties.getLoadBatchSize() && lastDueDate != null) {
+                log.warn("Окно сроков задач заполнено ({} задач), граница сокращена до {}", rows.size(), lastDueDate);
+                newHorizon = lastDueDate;
+            }
+            horizon = newHorizon;
+            log.debug("Загружено сроков задач: {}, в колесе: {}, граница окна: {}", rows.size(), wheel.size(), horizon);
+        } catch (Exception e) {
+            log.error("Не удалось загрузить сроки задач: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Продвигает колесо и передает наступившие сроки пулу отправки.
+     */
+    void tick() {
+        try {
+            List<TaskDeadline> expired = wheel.advance(System.currentTimeMillis());
+            if (!expired.isEmpty()) {
+                dispatcher.execute(() -> fire(expired));
+            }
+        } catch (Exception e) {
+            log.error("Ошибка обработки сроков задач: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Отмечает задачи просроченными и отправляет события, поставленные этой репликой в outbox.
+     * Срок, который не удалось отметить, остается в индексе и вернется в колесо при следующей загрузке окна.
+     *
+     * @param deadlines наступившие сроки
+     */
+    void fire(List<TaskDeadline> deadlines) {
+        boolean marked = false;
+        for (TaskDeadline deadline : deadlines) {
+            try {
+                if (taskRepository.markOverdueFired(deadline.taskId()).isEmpty()) {
+                    log.debug("Срок задачи с id={} уже обработан или перенесен", deadline.taskId());
+                } else {
+                    log.info("Задача с id={} просрочена, срок: {}", deadline.taskId(), deadline.dueDate());
+                    marked = true;
+                }
+            } catch (Exception e) {
+                log.error("Не удалось отметить просрочку задачи с id={}: {}", deadline.taskId(), e.getMessage(), e);
+            }
+        }
+        if (marked) {
+            drainOutbox();
+        }
+    }
+
+    /**
+     * Захватывает неотправленные события из outbox и доставляет их, пока захват возвращает полные пачки.
+     */
+    void drainOutbox() {
+        try {
+            List<Object[]> rows;
+            do {
+                rows = taskRepository.claimOverdueEvents(properties.getOutboxLease().toSeconds(),
+                        properties.getOutboxBatchSize());
+                for (Object[] row : rows) {
+                    deliver(row);
+                }
+            } while (rows.size() >= properties.getOutboxBatchSize());
+        } catch (Exception e) {
+            log.error("Ошибка отправки событий о просрочке: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Отправляет событие в Kafka с подтверждением брокера, затем письмо, и удаляет событие из outbox.
+     * Если событие уже подтверждено брокером при прошлой попытке, повторяется только письмо.
+     *
+     * @param row строка {@code [task_id, user_id, due_date, published_at]}
+     */
+    private void deliver(Object[] row) {
+        Long taskId = ((Number) row[0]).longValue();
+        TaskOverdueDto event = TaskOverdueDto.builder()
+                .id(taskId)
+                .userId(row[1] == null ? null : ((Number) row[1]).longValue())
+                .dueDate(toInstant(row[2]))
+                .build();
+        try {
+            if (row[3] == null) {
+                kafkaClientProducer.sendConfirmed(overdueTopic, String.valueOf(taskId), event);
+                taskRepository.markOverduePublished(taskId);
+            }
+            notificationService.taskOverdueNotification(event);
+            taskRepository.deleteOverdueEvent(taskId);
+        } catch (Exception e) {
+            log.error("Не удалось доставить событие о просрочке задачи с id={}, повтор через {}: {}",
+                    taskId, properties.getOutboxLease(), e.getMessage(), e);
+        }
+    }
+
+    private static boolean isOpen(TaskStatus status) {
+        return status == TaskStatus.NEW || status == TaskStatus.IN_PROGRESS;
+    }
+
+    private static Instant toInstant(Object value) {
+        if (value instanceof Instant instant) {
+            return instant;
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        return ((Timestamp) value).toInstant();
+    }
+}
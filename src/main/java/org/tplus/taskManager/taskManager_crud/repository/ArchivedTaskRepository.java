@@ -0,0 +1,28 @@
+package org.tplus.taskManager.taskManager_crud.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.tplus.taskManager.taskManager_crud.model.ArchivedTask;
+
+import java.util.List;
+
+/**
+ * Репозиторий для чтения архивных задач {@link ArchivedTask}.
+ *
+ * <p>Записи в архив попадают только через {@link TaskRepository#archiveFinishedTasks(long, int)}.</p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    /**
+     * Получает страницу архивных задач по возрастанию идентификатора.
+     *
+     * @param afterId идентификатор, после которого начинается страница
+     * @param limit   размер страницы
+     * @return архивные задачи
+     */
+    List<ArchivedTask> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+}
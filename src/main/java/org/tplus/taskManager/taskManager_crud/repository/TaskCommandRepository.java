@@ -0,0 +1,14 @@
+package org.tplus.taskManager.taskManager_crud.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.tplus.taskManager.taskManager_crud.model.TaskCommand;
+
+/**
+ * Репозиторий результатов асинхронных команд записи задач {@link TaskCommand}.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface TaskCommandRepository extends JpaRepository<TaskCommand, Long> {
+}
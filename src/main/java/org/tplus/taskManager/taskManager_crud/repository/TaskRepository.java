@@ -1,8 +1,20 @@
 package org.tplus.taskManager.taskManager_crud.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.tplus.taskManager.taskManager_crud.model.Task;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Репозиторий для управления сущностью {@link Task} в базе данных.
  *
@@ -17,13 +29,267 @@ import org.tplus.taskManager.taskManager_crud.model.Task;
  *     <li>{@code deleteById()} – удаление по идентификатору</li>
  * </ul>
  *
- * <p>Дополнительные методы могут быть добавлены при необходимости.</p>
+ * <p>Запросы с выборкой отдельных колонок описаны в {@link TaskRepositoryCustom}.</p>
  *
  * @author Бадиков Дмитрий
  * @version 1.0
  * @since 2025-02-22
  */
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+
+    /**
+     * Получает задачи по набору идентификаторов одним запросом {@code WHERE id IN (...)}.
+     *
+     * @param ids идентификаторы задач
+     * @return найденные задачи в произвольном порядке
+     */
+    List<Task> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Получает страницу задач по возрастанию идентификатора.
+     *
+     * @param afterId идентификатор, после которого начинается страница
+     * @param limit   размер страницы
+     * @return задачи
+     */
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Загружает задачу и блокирует ее строку до конца текущей транзакции.
+     *
+     * @param id идентификатор задачи
+     * @return задача, если она существует
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Загружает задачи по идентификаторам и блокирует их строки до конца текущей транзакции.
+     * Строки блокируются в порядке идентификаторов, чтобы параллельные пачки не блокировали друг друга по кругу.
+     *
+     * @param ids идентификаторы задач
+     * @return найденные задачи
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids ORDER BY t.id")
+    List<Task> findByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Переносит одну пачку завершенных задач из партиции {@code tasks_finished} в {@code tasks_archive}.
+     * <p>
+     * Удаление и вставка выполняются одним оператором, строки, заблокированные другими транзакциями, пропускаются.
+     * </p>
+     *
+     * @param olderThanSeconds минимальное время в секундах с последнего изменения задачи
+     * @param batchSize        максимальное количество задач в пачке
+     * @return количество перенесенных задач
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM tasks_finished
+                WHERE id IN (SELECT id
+                             FROM tasks_finished
+                             WHERE updated_at < now() - make_interval(secs => :olderThanSeconds)
+                               AND deleted_at IS NULL
+                             ORDER BY updated_at
+                             LIMIT :batchSize
+                             FOR UPDATE SKIP LOCKED)
+                RETURNING id, title, description, user_id, status, updated_at, due_date)
+            INSERT INTO tasks_archive (id, title, description, user_id, status, updated_at, due_date)
+            SELECT id, title, description, user_id, status, updated_at, due_date
+            FROM moved
+            """, nativeQuery = true)
+    int archiveFinishedTasks(@Param("olderThanSeconds") long olderThanSeconds, @Param("batchSize") int batchSize);
+
+    /**
+     * Удаляет задачу одним оператором DELETE без предварительной загрузки.
+     *
+     * @param id идентификатор задачи
+     * @return количество удаленных строк: 0, если задача не найдена
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Task t WHERE t.id = :id")
+    int deleteTaskById(@Param("id") Long id);
+
+    /**
+     * Вставляет задачу с уже выданным идентификатором. Используется при переносе задачи на шард
+     * нового пользователя, вызывается только с явно выбранным шардом.
+     *
+     * @param id          идентификатор задачи
+     * @param title       заголовок задачи
+     * @param description описание задачи
+     * @param userId      идентификатор пользователя
+     * @param status      статус задачи
+     * @param dueDate     срок выполнения задачи
+     * @return количество вставленных строк
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO tasks (id, title, description, user_id, status, due_date)
+            VALUES (:id, :title, :description, :userId, :status, :dueDate)
+            """, nativeQuery = true)
+    int insertWithId(@Param("id") Long id, @Param("title") String title, @Param("description") String description,
+                     @Param("userId") Long userId, @Param("status") String status, @Param("dueDate") Instant dueDate);
+
+    /**
+     * Помечает задачу удаленной, после чего она исключается из всех выборок.
+     *
+     * @param id идентификатор задачи
+     * @return количество помеченных строк: 0, если задача не найдена или уже удалена
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE tasks SET deleted_at = now() WHERE id = :id AND deleted_at IS NULL", nativeQuery = true)
+    int softDeleteTaskById(@Param("id") Long id);
+
+    /**
+     * Окончательно удаляет одну пачку мягко удаленных задач.
+     * <p>
+     * Строки, заблокированные другими транзакциями, пропускаются.
+     * </p>
+     *
+     * @param olderThanSeconds минимальное время в секундах с момента мягкого удаления
+     * @param batchSize        максимальное количество задач в пачке
+     * @return идентификаторы удаленных задач
+     */
+    @Transactional
+    @Query(value = """
+            DELETE FROM tasks
+            WHERE id IN (SELECT id
+                         FROM tasks
+                         WHERE deleted_at < now() - make_interval(secs => :olderThanSeconds)
+                         LIMIT :batchSize
+                         FOR UPDATE SKIP LOCKED)
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> purgeDeletedTasks(@Param("olderThanSeconds") long olderThanSeconds, @Param("batchSize") int batchSize);
+
+    /**
+     * Получает незавершенные задачи, срок которых наступает раньше {@code horizon} и по которым
+     * событие о просрочке еще не отправлено. Читает только частичный индекс по {@code due_date}.
+     *
+     * @param horizon   граница окна загрузки
+     * @param batchSize максимальное количество задач
+     * @return строки {@code [id, user_id, due_date]} в порядке наступления срока
+     */
+    @Query(value = """
+            SELECT id, user_id, due_date
+            FROM tasks
+            WHERE due_date < :horizon
+              AND due_date IS NOT NULL
+              AND overdue_fired_at IS NULL
+              AND deleted_at IS NULL
+              AND status IN ('NEW', 'IN_PROGRESS')
+            ORDER BY due_date
+            LIMIT :batchSize
+            """, nativeQuery = true)
+    List<Object[]> findPendingDeadlines(@Param("horizon") Instant horizon, @Param("batchSize") int batchSize);
+
+    /**
+     * Отмечает наступление срока задачи и тем же оператором кладет событие о просрочке
+     * в {@code task_overdue_outbox}, откуда его отправляет {@link #claimOverdueEvents(long, int)}.
+     * <p>
+     * Условие {@code overdue_fired_at IS NULL} делает отметку атомарной: при одновременном срабатывании
+     * на нескольких репликах строку вернет только одна из них. Если срок тем временем перенесли на будущее
+     * или задачу завершили, строка не возвращается. Неотправленное событие по прежнему сроку той же задачи
+     * заменяется новым.
+     * </p>
+     *
+     * @param id идентификатор задачи
+     * @return идентификатор задачи, если отметка поставлена этим вызовом, иначе пустой список
+     */
+    @Transactional
+    @Query(value = """
+            WITH fired AS (
+                UPDATE tasks SET overdue_fired_at = now()
+                WHERE id = :id
+                  AND due_date <= now()
+                  AND overdue_fired_at IS NULL
+                  AND deleted_at IS NULL
+                  AND status IN ('NEW', 'IN_PROGRESS')
+                RETURNING id, user_id, due_date)
+            INSERT INTO task_overdue_outbox (task_id, user_id, due_date)
+            SELECT id, user_id, due_date FROM fired
+            ON CONFLICT (task_id) DO UPDATE SET due_date = EXCLUDED.due_date, published_at = NULL,
+                                                attempts = 0, claimed_until = '-infinity'
+            RETURNING task_id
+            """, nativeQuery = true)
+    List<Long> markOverdueFired(@Param("id") Long id);
+
+    /**
+     * Захватывает неотправленные события о просрочке на время {@code leaseSeconds}.
+     * <p>
+     * Пока захват действует, другие реплики событие не получают; если реплика не отправила событие
+     * и не удалила его, после истечения захвата оно будет отправлено повторно.
+     * </p>
+     *
+     * @param leaseSeconds длительность захвата в секундах
+     * @param batchSize    максимальное количество событий
+     * @return строки {@code [task_id, user_id, due_date, published_at]}
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE task_overdue_outbox
+            SET claimed_until = now() + make_interval(secs => :leaseSeconds), attempts = attempts + 1
+            WHERE task_id IN (SELECT task_id
+                              FROM task_overdue_outbox
+                              WHERE claimed_until < now()
+                              ORDER BY created_at
+                              LIMIT :batchSize
+                              FOR UPDATE SKIP LOCKED)
+            RETURNING task_id, user_id, due_date, published_at
+            """, nativeQuery = true)
+    List<Object[]> claimOverdueEvents(@Param("leaseSeconds") long leaseSeconds, @Param("batchSize") int batchSize);
+
+    /**
+     * Отмечает, что брокер подтвердил событие о просрочке, чтобы при повторе отправлялось только письмо.
+     *
+     * @param taskId идентификатор задачи
+     * @return количество измененных строк
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE task_overdue_outbox SET published_at = now() WHERE task_id = :taskId", nativeQuery = true)
+    int markOverduePublished(@Param("taskId") Long taskId);
+
+    /**
+     * Удаляет полностью доставленное событие о просрочке.
+     *
+     * @param taskId идентификатор задачи
+     * @return количество удаленных строк
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM task_overdue_outbox WHERE task_id = :taskId", nativeQuery = true)
+    int deleteOverdueEvent(@Param("taskId") Long taskId);
+
+    /**
+     * Снимает отметку об отправленном событии о просрочке, чтобы новый срок задачи сработал заново.
+     *
+     * @param id идентификатор задачи
+     * @return количество измененных строк
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE tasks SET overdue_fired_at = NULL WHERE id = :id AND overdue_fired_at IS NOT NULL",
+            nativeQuery = true)
+    int resetOverdueFired(@Param("id") Long id);
 
+    /**
+     * Снимает отметки об отправленных событиях о просрочке для нескольких задач одним оператором.
+     *
+     * @param ids идентификаторы задач
+     * @return количество измененных строк
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE tasks SET overdue_fired_at = NULL WHERE id IN (:ids) AND overdue_fired_at IS NOT NULL",
+            nativeQuery = true)
+    int resetOverdueFiredIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,35 @@
+package org.tplus.taskManager.taskManager_crud.repository;
+
+import org.tplus.taskManager.taskManager_crud.dto.TaskField;
+import org.tplus.taskManager.taskManager_crud.dto.TaskView;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Дополнительные методы {@link TaskRepository}, выбирающие из базы только запрошенные поля задачи.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Получает все задачи, выбирая только указанные колонки.
+     *
+     * @param fields набор полей
+     * @return частичные представления задач
+     */
+    List<TaskView> findAllProjected(Set<TaskField> fields);
+
+    /**
+     * Получает задачу по идентификатору, выбирая только указанные колонки.
+     *
+     * @param id     идентификатор задачи
+     * @param fields набор полей
+     * @return частичное представление задачи, если она найдена
+     */
+    Optional<TaskView> findProjectedById(Long id, Set<TaskField> fields);
+}
@@ -0,0 +1,73 @@
+package org.tplus.taskManager.taskManager_crud.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.tplus.taskManager.taskManager_crud.dto.TaskField;
+import org.tplus.taskManager.taskManager_crud.dto.TaskView;
+import org.tplus.taskManager.taskManager_crud.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Реализация {@link TaskRepositoryCustom} на Criteria API: в SELECT попадают только выбранные атрибуты.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskView> findAllProjected(Set<TaskField> fields) {
+        return createQuery(fields, null);
+    }
+
+    @Override
+    public Optional<TaskView> findProjectedById(Long id, Set<TaskField> fields) {
+        return createQuery(fields, id).stream().findFirst();
+    }
+
+    /**
+     * Выполняет запрос с проекцией на выбранные поля.
+     *
+     * @param fields набор полей
+     * @param id     идентификатор задачи или {@code null} для всех задач
+     * @return частичные представления задач
+     */
+    private List<TaskView> createQuery(Set<TaskField> fields, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        List<TaskField> selected = List.copyOf(fields);
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (TaskField field : selected) {
+            selections.add(root.get(field.getName()));
+        }
+        query.multiselect(selections);
+        if (id != null) {
+            query.where(cb.equal(root.get(TaskField.ID.getName()), id));
+        }
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> {
+                    Object[] values = new Object[TaskField.values().length];
+                    for (int i = 0; i < selected.size(); i++) {
+                        values[selected.get(i).ordinal()] = tuple.get(i);
+                    }
+                    return new TaskView(fields, values);
+                })
+                .toList();
+    }
+}
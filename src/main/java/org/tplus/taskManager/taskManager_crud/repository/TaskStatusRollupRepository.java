@@ -0,0 +1,88 @@
+package org.tplus.taskManager.taskManager_crud.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatusTimeDto;
+import org.tplus.taskManager.taskManager_crud.model.TaskStatusRollup;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Репозиторий ежедневных агрегатов по статусам задач {@link TaskStatusRollup}.
+ *
+ * <p>Агрегаты обновляются атомарными upsert-запросами, аналитические запросы читают только агрегаты,
+ * не обращаясь к журналу смен статуса.</p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface TaskStatusRollupRepository extends JpaRepository<TaskStatusRollup, TaskStatusRollup.Key> {
+
+    /**
+     * Учитывает переход задачи в статус.
+     *
+     * @param userId идентификатор пользователя
+     * @param day    день перехода
+     * @param status новый статус
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_status_daily_rollup (user_id, day, status, entered_count)
+            VALUES (:userId, :day, :status, 1)
+            ON CONFLICT (user_id, day, status)
+                DO UPDATE SET entered_count = task_status_daily_rollup.entered_count + 1
+            """, nativeQuery = true)
+    void addEntry(@Param("userId") long userId, @Param("day") LocalDate day, @Param("status") String status);
+
+    /**
+     * Учитывает выход задачи из статуса и время, проведенное в нем.
+     *
+     * @param userId     идентификатор пользователя
+     * @param day        день выхода
+     * @param status     предыдущий статус
+     * @param durationMs время в статусе, мс
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_status_daily_rollup (user_id, day, status, exited_count, total_duration_ms)
+            VALUES (:userId, :day, :status, 1, :durationMs)
+            ON CONFLICT (user_id, day, status)
+                DO UPDATE SET exited_count      = task_status_daily_rollup.exited_count + 1,
+                              total_duration_ms = task_status_daily_rollup.total_duration_ms + :durationMs
+            """, nativeQuery = true)
+    void addExit(@Param("userId") long userId, @Param("day") LocalDate day, @Param("status") String status,
+                 @Param("durationMs") long durationMs);
+
+    /**
+     * Получает ежедневные агрегаты пользователя за период.
+     *
+     * @param userId идентификатор пользователя
+     * @param from   первый день периода включительно
+     * @param to     последний день периода включительно
+     * @return агрегаты по дням и статусам
+     */
+    List<TaskStatusRollup> findByUserIdAndDayBetweenOrderByDayAscStatusAsc(Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * Суммирует ежедневные агрегаты пользователя за период по статусам.
+     *
+     * @param userId идентификатор пользователя
+     * @param from   первый день периода включительно
+     * @param to     последний день периода включительно
+     * @return итоги по статусам
+     */
+    @Query("""
+            SELECT new org.tplus.taskManager.taskManager_crud.dto.TaskStatusTimeDto(
+                r.status, SUM(r.enteredCount), SUM(r.exitedCount), SUM(r.totalDurationMs))
+            FROM TaskStatusRollup r
+            WHERE r.userId = :userId AND r.day BETWEEN :from AND :to
+            GROUP BY r.status
+            ORDER BY r.status
+            """)
+    List<TaskStatusTimeDto> summarize(@Param("userId") Long userId, @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+}
@@ -0,0 +1,24 @@
+package org.tplus.taskManager.taskManager_crud.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.tplus.taskManager.taskManager_crud.model.TaskStatusTransition;
+
+import java.util.Optional;
+
+/**
+ * Репозиторий журнала смен статуса задач {@link TaskStatusTransition}.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface TaskStatusTransitionRepository extends JpaRepository<TaskStatusTransition, Long> {
+
+    /**
+     * Получает последнюю смену статуса задачи.
+     *
+     * @param taskId идентификатор задачи
+     * @return последняя запись журнала, если она есть
+     */
+    Optional<TaskStatusTransition> findFirstByTaskIdOrderByChangedAtDesc(Long taskId);
+}
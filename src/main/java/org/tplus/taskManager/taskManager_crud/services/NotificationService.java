@@ -4,11 +4,14 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.tplus.logStarter.my_LogStarter.aspects.annotations.LogExecution;
+import org.tplus.taskManager.taskManager_crud.dto.TaskOverdueDto;
 import org.tplus.taskManager.taskManager_crud.dto.TaskStatusUpdateDto;
+import org.tplus.taskManager.taskManager_crud.kafka.TaskPipelineTracing;
 
 /**
  * Сервис для отправки уведомлений по электронной почте при обновлении статуса задачи.
@@ -27,7 +30,9 @@ import org.tplus.taskManager.taskManager_crud.dto.TaskStatusUpdateDto;
 public class NotificationService {
     /**
      * Компонент для отправки email-сообщений.
+     * Внедряется лениво, чтобы почтовый клиент создавался при первой отправке, а не при старте.
      */
+    @Lazy
     private final JavaMailSender mailSender;
     /**
      * Пользовательские настройки для email-уведомлений (получатель, тема и т.д.).
@@ -37,6 +42,10 @@ public class NotificationService {
      * Настройки почтового сервера из spring-boot (логин отправителя и прочее).
      */
     private final org.springframework.boot.autoconfigure.mail.MailProperties springMailProperties;
+    /**
+     * Метрики задержек доставки уведомлений.
+     */
+    private final TaskPipelineTracing tracing;
 
     /**
      * Метод для обработки события обновления задачи.
@@ -49,15 +58,26 @@ public class NotificationService {
     @LogExecution
     public void taskUpdateNotification(TaskStatusUpdateDto taskDto) {
         log.info("Task с id: {}, обновил статус: {}", taskDto.getId(), taskDto.getStatus());
-        sendEmail(taskDto);
+        sendEmail("Task c id: " + taskDto.getId() + " был обновлён");
     }
 
     /**
-     * Отправляет email-уведомление с информацией об обновлении задачи.
+     * Метод для обработки события о просрочке задачи.
      *
-     * @param taskDto данные о задаче и её новом статусе
+     * @param overdueDto данные о задаче и наступившем сроке
+     */
+    @LogExecution
+    public void taskOverdueNotification(TaskOverdueDto overdueDto) {
+        log.info("Task с id: {} просрочен, срок: {}", overdueDto.getId(), overdueDto.getDueDate());
+        sendEmail("Task c id: " + overdueDto.getId() + " просрочен, срок выполнения: " + overdueDto.getDueDate());
+    }
+
+    /**
+     * Отправляет email-уведомление с информацией о задаче.
+     *
+     * @param text текст письма
      */
-    private void sendEmail(TaskStatusUpdateDto taskDto) {
+    private void sendEmail(String text) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
 
@@ -65,9 +85,9 @@ public class NotificationService {
             helper.setFrom(springMailProperties.getUsername());
             helper.setTo(mailProperties.getRecipient());
             helper.setSubject(mailProperties.getSubject());
-            helper.setText("Task c id: " + taskDto.getId() + " был обновлён");
+            helper.setText(text);
 
-            mailSender.send(message);
+            tracing.emailTimer().record(() -> mailSender.send(message));
             log.info("Email успешно отправлен");
         } catch (MessagingException e) {
             throw new RuntimeException(e);
@@ -0,0 +1,57 @@
+package org.tplus.taskManager.taskManager_crud.services;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные свойства фоновой архивации завершенных задач.
+ * <p>
+ * Пример конфигурации в application.yml:
+ * <pre>
+ * task-archive:
+ *   enabled: true
+ *   interval: PT5M
+ *   older-than: P7D
+ *   batch-size: 500
+ * </pre>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@ConfigurationProperties(prefix = "task-archive")
+public class TaskArchiveProperties {
+
+    /**
+     * Включена ли фоновая архивация.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Пауза между запусками архивации.
+     */
+    private Duration interval = Duration.ofMinutes(5);
+
+    /**
+     * Сколько времени задача должна пробыть завершенной, прежде чем попасть в архив.
+     */
+    private Duration olderThan = Duration.ofDays(7);
+
+    /**
+     * Количество задач, переносимых одной транзакцией.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Максимальное количество пачек за один запуск.
+     */
+    private int maxBatchesPerRun = 100;
+
+    /**
+     * Максимальный размер страницы архивных задач в {@code GET /tasks?includeArchived=true}.
+     */
+    private int maxPageSize = 1000;
+}
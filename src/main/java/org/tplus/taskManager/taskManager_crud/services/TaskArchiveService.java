@@ -0,0 +1,58 @@
+package org.tplus.taskManager.taskManager_crud.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.tplus.taskManager.taskManager_crud.repository.TaskRepository;
+
+/**
+ * Сервис фоновой архивации завершенных задач.
+ * <p>
+ * Периодически переносит задачи со статусами COMPLETED и CANCELED из партиции {@code tasks_finished}
+ * в таблицу {@code tasks_archive} небольшими пачками, каждая в отдельной транзакции,
+ * чтобы не держать долгие блокировки на основной таблице.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+@ConditionalOnProperty(value = "task-archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchiveService {
+    /**
+     * Репозиторий для работы с задачами в базе данных.
+     */
+    private final TaskRepository taskRepository;
+    /**
+     * Настройки архивации.
+     */
+    private final TaskArchiveProperties properties;
+
+    /**
+     * Переносит в архив все подходящие задачи, пока пачки заполняются полностью
+     * или не достигнут лимит пачек за один запуск.
+     *
+     * @return общее количество перенесенных задач
+     */
+    @Scheduled(fixedDelayString = "${task-archive.interval:PT5M}", initialDelayString = "${task-archive.interval:PT5M}")
+    public int archiveFinishedTasks() {
+        long olderThanSeconds = properties.getOlderThan().toSeconds();
+        int total = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int moved = taskRepository.archiveFinishedTasks(olderThanSeconds, properties.getBatchSize());
+            total += moved;
+            if (moved < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Архивировано завершенных задач: {}", total);
+        }
+        return total;
+    }
+}
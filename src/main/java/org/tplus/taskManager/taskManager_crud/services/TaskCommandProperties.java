@@ -0,0 +1,56 @@
+package org.tplus.taskManager.taskManager_crud.services;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные свойства асинхронной записи задач через Kafka.
+ * <p>
+ * Пример конфигурации в application.yml:
+ * <pre>
+ * task-commands:
+ *   async: true
+ *   batch-size: 500
+ * </pre>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@ConfigurationProperties(prefix = "task-commands")
+public class TaskCommandProperties {
+
+    /**
+     * Принимать ли POST и PUT /tasks асинхронно: ответ 202 с идентификатором команды.
+     */
+    private boolean async = false;
+
+    /**
+     * Максимальное количество команд, применяемых одной транзакцией.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Сколько команда без результата считается ожидающей; позже запрос состояния возвращает 404.
+     */
+    private Duration pendingTimeout = Duration.ofHours(1);
+
+    /**
+     * Первая пауза перед повторным применением пачки после временной ошибки базы данных.
+     */
+    private Duration retryInitialInterval = Duration.ofSeconds(1);
+
+    /**
+     * Максимальная пауза между повторами. Должна быть меньше max.poll.interval.ms консьюмера команд.
+     */
+    private Duration retryMaxInterval = Duration.ofSeconds(30);
+
+    /**
+     * Сколько раз повторяется команда, упавшая не из-за недоступности базы данных,
+     * прежде чем она отправляется в топик {@code t_plus_tasks_commands.DLT}.
+     */
+    private int maxFailedAttempts = 3;
+}
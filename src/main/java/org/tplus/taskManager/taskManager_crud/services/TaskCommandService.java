@@ -0,0 +1,359 @@
+package org.tplus.taskManager.taskManager_crud.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tplus.taskManager.taskManager_crud.dto.TaskCommandDto;
+import org.tplus.taskManager.taskManager_crud.dto.TaskCommandStatus;
+import org.tplus.taskManager.taskManager_crud.dto.TaskCommandStatusDto;
+import org.tplus.taskManager.taskManager_crud.dto.TaskCommandType;
+import org.tplus.taskManager.taskManager_crud.dto.TaskDto;
+import org.tplus.taskManager.taskManager_crud.kafka.KafkaClientProducer;
+import org.tplus.taskManager.taskManager_crud.kafka.KafkaSendException;
+import org.tplus.taskManager.taskManager_crud.model.TaskCommand;
+import org.tplus.taskManager.taskManager_crud.repository.TaskCommandRepository;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardContext;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardRouter;
+import org.tplus.taskManager.taskManager_crud.sharding.Snowflake;
+import org.tplus.taskManager.taskManager_crud.sharding.SnowflakeIdGenerator;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Сервис асинхронной записи задач через Kafka-топик команд.
+ * <p>
+ * Запрос на создание или изменение задачи превращается в команду {@link TaskCommandDto} с собственным
+ * идентификатором и отправляется в топик; клиент получает идентификатор команды, как только брокер
+ * подтвердил ее запись, а если подтверждения нет — ошибку, и запрос нужно повторить.
+ * {@link org.tplus.taskManager.taskManager_crud.kafka.TaskCommandConsumer} передает прочитанные пачки
+ * в {@link #apply(List)}, и каждая пачка применяется одной транзакцией на шард.
+ * </p>
+ * <p>
+ * Результат применения записывается в таблицу {@code task_commands} в той же транзакции, что и сами
+ * изменения, поэтому повторно прочитанная после сбоя команда пропускается. Команда без результата
+ * считается ожидающей, пока с момента ее выдачи не прошло {@link TaskCommandProperties#getPendingTimeout()}.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class TaskCommandService {
+    /**
+     * Сервис для управления задачами.
+     */
+    private final TaskService taskService;
+    /**
+     * Репозиторий результатов команд.
+     */
+    private final TaskCommandRepository taskCommandRepository;
+    /**
+     * Kafka-продюсер для отправки команд.
+     * Внедряется лениво, чтобы продюсер создавался при первой отправке, а не при старте.
+     */
+    @Lazy
+    private final KafkaClientProducer kafkaClientProducer;
+    /**
+     * Маршрутизатор шардов, существует только в режиме шардирования.
+     */
+    private final ObjectProvider<ShardRouter> shardRouter;
+    /**
+     * Шаблон транзакции применения пачки команд.
+     */
+    private final TransactionTemplate transactionTemplate;
+    /**
+     * Настройки асинхронной записи.
+     */
+    private final TaskCommandProperties properties;
+    /**
+     * Название Kafka-топика команд записи задач.
+     */
+    @Value("t_plus_tasks_commands")
+    private String commandTopic;
+
+    /**
+     * Принимает команду на создание задачи.
+     * <p>
+     * Идентификатор задачи еще не выдан, поэтому ключом сообщения служит идентификатор команды.
+     * Команда выдается на шарде пользователя задачи и там же будет применена.
+     * </p>
+     *
+     * @param task данные задачи
+     * @return состояние принятой команды
+     * @throws KafkaSendException если брокер не подтвердил запись команды
+     */
+    public TaskCommandStatusDto submitCreate(TaskDto task) {
+        ShardRouter router = shardRouter.getIfAvailable();
+        long commandId = SnowflakeIdGenerator.nextId(router == null ? 0 : router.shardForUser(task.getUserId()));
+        task.setId(null);
+        return submit(String.valueOf(commandId), TaskCommandDto.builder()
+                .commandId(commandId)
+                .type(TaskCommandType.CREATE)
+                .task(task)
+                .build());
+    }
+
+    /**
+     * Принимает команду на изменение задачи.
+     * <p>
+     * Ключом сообщения служит идентификатор задачи, поэтому изменения одной задачи применяются
+     * в порядке приема. В режиме шардирования команда выдается на шарде, где хранится задача;
+     * смену пользователя, требующую переноса задачи на другой шард, нужно выполнять синхронно,
+     * см. {@link #movesToAnotherShard(Long, TaskDto)}.
+     * </p>
+     *
+     * @param id   идентификатор задачи
+     * @param task данные для обновления задачи
+     * @return состояние принятой команды
+     * @throws NoSuchElementException   если задача не найдена
+     * @throws IllegalArgumentException если новый пользователь задачи назначен на другой шард
+     * @throws KafkaSendException       если брокер не подтвердил запись команды
+     */
+    public TaskCommandStatusDto submitUpdate(Long id, TaskDto task) {
+        ShardRouter router = shardRouter.getIfAvailable();
+        int shard = 0;
+        if (router != null) {
+            shard = router.shardForUser(taskService.getTaskById(id).getUserId());
+            if (router.shardForUser(task.getUserId()) != shard) {
+                throw new IllegalArgumentException("Changing the user of a task moves it to another shard"
+                        + " and cannot be applied asynchronously");
+            }
+        }
+        long commandId = SnowflakeIdGenerator.nextId(shard);
+        task.setId(id);
+        return submit(String.valueOf(id), TaskCommandDto.builder()
+                .commandId(commandId)
+                .type(TaskCommandType.UPDATE)
+                .taskId(id)
+                .task(task)
+                .build());
+    }
+
+    /**
+     * Проверяет, переносит ли изменение задачу на другой шард. Такое изменение применяется
+     * {@link TaskService#updateTask(Long, TaskDto)}, а не командой.
+     *
+     * @param id   идентификатор задачи
+     * @param task данные для обновления задачи
+     * @return {@code true}, если новый пользователь задачи назначен на другой шард
+     * @throws NoSuchElementException если задача не найдена
+     */
+    public boolean movesToAnotherShard(Long id, TaskDto task) {
+        ShardRouter router = shardRouter.getIfAvailable();
+        return router != null
+                && router.shardForUser(task.getUserId()) != router.shardForUser(taskService.getTaskById(id).getUserId());
+    }
+
+    /**
+     * Возвращает состояние команды.
+     *
+     * @param commandId идентификатор команды
+     * @return состояние команды
+     * @throws NoSuchElementException если команда не применена и срок ожидания истек
+     */
+    public TaskCommandStatusDto getStatus(Long commandId) {
+        return taskCommandRepository.findById(commandId)
+                .map(command -> TaskCommandStatusDto.builder()
+                        .commandId(command.getId())
+                        .status(command.getStatus())
+                        .taskId(command.getTaskId())
+                        .error(command.getError())
+                        .completedAt(command.getCompletedAt())
+                        .build())
+                .orElseGet(() -> {
+                    Instant issuedAt = Instant.ofEpochMilli(Snowflake.timestampOf(commandId));
+                    if (issuedAt.isBefore(Instant.now().minus(properties.getPendingTimeout()))) {
+                        throw new NoSuchElementException("Command not found");
+                    }
+                    return pending(commandId, null);
+                });
+    }
+
+    /**
+     * Применяет пачку команд, прочитанных из топика.
+     * <p>
+     * Команды группируются по шардам, на которых были выданы. Для каждого шарда все создания и изменения
+     * выполняются одной транзакцией: вставки и обновления уходят пакетами JDBC. Если транзакция пачки
+     * откатилась из-за данных одной из команд, команды применяются по одной, а отклоненные помечаются
+     * {@link TaskCommandStatus#FAILED}. Временные ошибки базы данных пробрасываются как
+     * {@link BatchListenerFailedException} с позицией первой команды неприменившегося шарда: смещения
+     * команд до нее подтверждаются, а с нее Kafka повторяет доставку.
+     * </p>
+     *
+     * @param commands команды в порядке чтения из топика
+     * @throws BatchListenerFailedException если пачку нужно прочитать повторно с указанной позиции
+     */
+    public void apply(List<TaskCommandDto> commands) {
+        ShardRouter router = shardRouter.getIfAvailable();
+        if (router == null) {
+            applyFrom(0, () -> applyOnShard(commands));
+            return;
+        }
+        // шарды применяются в порядке первой команды, поэтому все команды до первой позиции
+        // неприменившегося шарда уже зафиксированы
+        Map<Integer, List<TaskCommandDto>> byShard = new LinkedHashMap<>();
+        Map<Integer, Integer> firstIndex = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            int shard = router.shardForId(commands.get(i).getCommandId());
+            byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(commands.get(i));
+            firstIndex.putIfAbsent(shard, i);
+        }
+        for (Map.Entry<Integer, List<TaskCommandDto>> entry : byShard.entrySet()) {
+            applyFrom(firstIndex.get(entry.getKey()), () -> ShardContext.supplyOn(entry.getKey(), () -> {
+                applyOnShard(entry.getValue());
+                return null;
+            }));
+        }
+    }
+
+    /**
+     * Выполняет применение команд и при ошибке указывает позицию, с которой пачку нужно прочитать повторно.
+     *
+     * @param index  позиция первой команды, которая могла остаться непримененной
+     * @param action применение команд
+     */
+    private static void applyFrom(int index, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            throw new BatchListenerFailedException("Task commands were not applied", e, index);
+        }
+    }
+
+    /**
+     * Применяет команды на текущем шарде, пропуская уже примененные.
+     *
+     * @param commands команды
+     */
+    private void applyOnShard(List<TaskCommandDto> commands) {
+        Map<Long, TaskCommandDto> pending = new LinkedHashMap<>();
+        for (TaskCommandDto command : commands) {
+            pending.putIfAbsent(command.getCommandId(), command);
+        }
+        Set<Long> applied = new HashSet<>();
+        taskCommandRepository.findAllById(pending.keySet()).forEach(command -> applied.add(command.getId()));
+        pending.keySet().removeAll(applied);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<TaskCommandDto> batch = List.copyOf(pending.values());
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyBatch(batch));
+            log.debug("Применено команд: {}, пропущено повторных: {}", batch.size(), applied.size());
+        } catch (RuntimeException e) {
+            if (TransientErrors.isTransient(e)) {
+                throw e;
+            }
+            log.warn("Пачка из {} команд отклонена, команды применяются по одной: {}", batch.size(), e.getMessage());
+            batch.forEach(this::applyOne);
+        }
+    }
+
+    /**
+     * Применяет одну команду отдельной транзакцией; при ошибке в данных записывает ее как отклоненную.
+     *
+     * @param command команда
+     */
+    private void applyOne(TaskCommandDto command) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyBatch(List.of(command)));
+        } catch (RuntimeException e) {
+            if (TransientErrors.isTransient(e)) {
+                throw e;
+            }
+            log.error("Команда id={} отклонена: {}", command.getCommandId(), e.getMessage());
+            taskCommandRepository.save(new TaskCommand(command.getCommandId(), command.getType(), command.getTaskId(),
+                    TaskCommandStatus.FAILED, e.getMessage(), Instant.now()));
+        }
+    }
+
+    /**
+     * Применяет команды в текущей транзакции и записывает их результаты.
+     * <p>
+     * Если пачка содержит несколько изменений одной задачи, применяется последнее из них,
+     * остальные считаются примененными и перезаписанными.
+     * </p>
+     *
+     * @param commands команды
+     */
+    private void applyBatch(List<TaskCommandDto> commands) {
+        List<TaskCommandDto> creates = new ArrayList<>();
+        Map<Long, TaskDto> updates = new LinkedHashMap<>();
+        for (TaskCommandDto command : commands) {
+            if (command.getType() == TaskCommandType.CREATE) {
+                creates.add(command);
+            } else {
+                updates.put(command.getTaskId(), command.getTask());
+            }
+        }
+
+        Iterator<TaskDto> created = creates.isEmpty() ? null
+                : taskService.createTasks(creates.stream().map(TaskCommandDto::getTask).toList()).iterator();
+        Set<Long> updated = updates.isEmpty() ? Set.of() : taskService.updateTasks(updates).keySet();
+
+        Instant now = Instant.now();
+        List<TaskCommand> results = new ArrayList<>(commands.size());
+        for (TaskCommandDto command : commands) {
+            if (command.getType() == TaskCommandType.CREATE) {
+                results.add(new TaskCommand(command.getCommandId(), command.getType(), created.next().getId(),
+                        TaskCommandStatus.APPLIED, null, now));
+            } else {
+                TaskCommandStatus status = updated.contains(command.getTaskId())
+                        ? TaskCommandStatus.APPLIED
+                        : TaskCommandStatus.NOT_FOUND;
+                results.add(new TaskCommand(command.getCommandId(), command.getType(), command.getTaskId(),
+                        status, null, now));
+            }
+        }
+        taskCommandRepository.saveAll(results);
+    }
+
+    /**
+     * Отправляет команду в топик и ждет подтверждения брокера.
+     * <p>
+     * Команда не откладывается в буфер неотправленных сообщений: клиенту, получившему идентификатор
+     * команды, гарантировано, что команда записана, а при отказе брокера он получает ошибку и повторяет запрос.
+     * </p>
+     *
+     * @param key     ключ сообщения
+     * @param command команда
+     * @return состояние принятой команды
+     * @throws KafkaSendException если брокер не подтвердил запись команды
+     */
+    private TaskCommandStatusDto submit(String key, TaskCommandDto command) {
+        kafkaClientProducer.sendConfirmed(commandTopic, key, command);
+        return pending(command.getCommandId(), command.getTaskId());
+    }
+
+    /**
+     * Создает состояние ожидающей команды.
+     *
+     * @param commandId идентификатор команды
+     * @param taskId    идентификатор задачи, если известен
+     * @return состояние команды
+     */
+    private static TaskCommandStatusDto pending(Long commandId, Long taskId) {
+        return TaskCommandStatusDto.builder()
+                .commandId(commandId)
+                .status(TaskCommandStatus.PENDING)
+                .taskId(taskId)
+                .build();
+    }
+}
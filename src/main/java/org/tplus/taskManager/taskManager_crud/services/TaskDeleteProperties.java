@@ -0,0 +1,76 @@
+package org.tplus.taskManager.taskManager_crud.services;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные свойства удаления задач.
+ * <p>
+ * Пример конфигурации в application.yml:
+ * <pre>
+ * task-delete:
+ *   soft: true
+ *   purge:
+ *     enabled: true
+ *     interval: PT1M
+ *     older-than: PT24H
+ *     batch-size: 200
+ * </pre>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@ConfigurationProperties(prefix = "task-delete")
+public class TaskDeleteProperties {
+
+    /**
+     * Мягкое удаление: задача помечается deleted_at и скрывается из чтения, а удаляется позже очисткой.
+     */
+    private boolean soft = false;
+
+    /**
+     * Настройки фоновой очистки мягко удаленных задач.
+     */
+    private Purge purge = new Purge();
+
+    /**
+     * Настройки фоновой очистки.
+     */
+    @Data
+    public static class Purge {
+
+        /**
+         * Включена ли очистка.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Пауза между запусками очистки.
+         */
+        private Duration interval = Duration.ofMinutes(1);
+
+        /**
+         * Сколько времени задача хранится после мягкого удаления.
+         */
+        private Duration olderThan = Duration.ofHours(24);
+
+        /**
+         * Количество задач, удаляемых одной транзакцией.
+         */
+        private int batchSize = 200;
+
+        /**
+         * Максимальное количество пачек за один запуск.
+         */
+        private int maxBatchesPerRun = 50;
+
+        /**
+         * Пауза между пачками, чтобы не создавать пиковую нагрузку на autovacuum и репликацию.
+         */
+        private Duration pauseBetweenBatches = Duration.ofMillis(200);
+    }
+}
@@ -0,0 +1,122 @@
+package org.tplus.taskManager.taskManager_crud.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.tplus.taskManager.taskManager_crud.dto.TaskDto;
+import org.tplus.taskManager.taskManager_crud.dto.TaskLookupResultDto;
+import org.tplus.taskManager.taskManager_crud.mapper.TaskMapper;
+import org.tplus.taskManager.taskManager_crud.model.Task;
+import org.tplus.taskManager.taskManager_crud.repository.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис получения нескольких задач по списку идентификаторов одним запросом к базе данных.
+ * <p>
+ * Одновременные запросы с одинаковым набором идентификаторов объединяются:
+ * к базе уходит только первый из них, остальные ждут его результата.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class TaskLookupService {
+    /**
+     * Репозиторий для работы с задачами в базе данных.
+     */
+    private final TaskRepository taskRepository;
+    /**
+     * Маппер для преобразования сущностей Task
+     */
+    private final TaskMapper taskMapper;
+    /**
+     * Выполняющиеся в данный момент запросы к базе, ключ — отсортированный список идентификаторов.
+     */
+    private final ConcurrentMap<List<Long>, CompletableFuture<Map<Long, TaskDto>>> inFlight = new ConcurrentHashMap<>();
+    /**
+     * Максимальное количество идентификаторов в одном запросе.
+     */
+    @Value("${task-lookup.max-ids:100}")
+    private int maxIds;
+
+    /**
+     * Получает задачи по списку идентификаторов.
+     *
+     * @param ids идентификаторы задач
+     * @return найденные задачи в порядке запроса и список ненайденных идентификаторов
+     * @throws IllegalArgumentException если список пуст или превышает допустимый размер
+     */
+    public TaskLookupResultDto getTasksByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        LinkedHashSet<Long> requested = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (requested.size() > maxIds) {
+            throw new IllegalArgumentException("Too many ids: " + requested.size() + ", max " + maxIds);
+        }
+
+        Map<Long, TaskDto> found = load(requested.stream().sorted().toList());
+
+        List<TaskDto> tasks = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            TaskDto task = found.get(id);
+            if (task != null) {
+                tasks.add(task);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new TaskLookupResultDto(tasks, missingIds);
+    }
+
+    /**
+     * Загружает задачи одним запросом или присоединяется к уже выполняющемуся запросу с тем же набором.
+     *
+     * @param key отсортированный список уникальных идентификаторов
+     * @return найденные задачи по идентификатору
+     */
+    private Map<Long, TaskDto> load(List<Long> key) {
+        CompletableFuture<Map<Long, TaskDto>> own = new CompletableFuture<>();
+        CompletableFuture<Map<Long, TaskDto>> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            log.debug("Запрос задач {} объединен с уже выполняющимся", key);
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        try {
+            Map<Long, TaskDto> result = taskRepository.findByIdIn(key).stream()
+                    .collect(Collectors.toMap(Task::getId, taskMapper::toTaskDto, (a, b) -> a));
+            own.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+}
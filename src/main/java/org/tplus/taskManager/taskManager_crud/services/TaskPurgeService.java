@@ -0,0 +1,82 @@
+package org.tplus.taskManager.taskManager_crud.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.tplus.taskManager.taskManager_crud.dto.TaskDeletedDto;
+import org.tplus.taskManager.taskManager_crud.kafka.KafkaClientProducer;
+import org.tplus.taskManager.taskManager_crud.repository.TaskRepository;
+
+import java.util.List;
+
+/**
+ * Сервис фоновой очистки мягко удаленных задач.
+ * <p>
+ * Удаляет задачи, помеченные deleted_at дольше {@code task-delete.purge.older-than},
+ * небольшими пачками с паузами между ними и отправляет событие об удалении каждой задачи в Kafka.
+ * На время пауз занят один поток планировщика, поэтому пул планировщика задается
+ * {@code spring.task.scheduling.pool.size} больше одного потока.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+@ConditionalOnProperty(value = "task-delete.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskPurgeService {
+    /**
+     * Репозиторий для работы с задачами в базе данных.
+     */
+    private final TaskRepository taskRepository;
+    /**
+     * Kafka-продюсер для отправки событий об удалении задач.
+     */
+    @Lazy
+    private final KafkaClientProducer kafkaClientProducer;
+    /**
+     * Настройки удаления.
+     */
+    private final TaskDeleteProperties properties;
+    /**
+     * Название Kafka-топика для событий об удалении задач.
+     */
+    @Value("t_plus_tasks_deleted")
+    private String deleteTopic;
+
+    /**
+     * Окончательно удаляет мягко удаленные задачи пачками.
+     *
+     * @return количество удаленных задач
+     * @throws InterruptedException если поток прерван во время паузы между пачками
+     */
+    @Scheduled(fixedDelayString = "${task-delete.purge.interval:PT1M}")
+    public int purgeDeletedTasks() throws InterruptedException {
+        TaskDeleteProperties.Purge purge = properties.getPurge();
+        long olderThanSeconds = purge.getOlderThan().toSeconds();
+        int total = 0;
+        for (int batch = 0; batch < purge.getMaxBatchesPerRun(); batch++) {
+            List<Long> ids = taskRepository.purgeDeletedTasks(olderThanSeconds, purge.getBatchSize());
+            total += ids.size();
+            if (!ids.isEmpty()) {
+                kafkaClientProducer.sendBatch(deleteTopic, ids.stream()
+                        .map(id -> TaskDeletedDto.builder().id(id).build())
+                        .toList());
+            }
+            if (ids.size() < purge.getBatchSize()) {
+                break;
+            }
+            Thread.sleep(purge.getPauseBetweenBatches().toMillis());
+        }
+        if (total > 0) {
+            log.info("Окончательно удалено задач: {}", total);
+        }
+        return total;
+    }
+}
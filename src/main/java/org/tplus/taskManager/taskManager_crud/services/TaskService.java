@@ -2,17 +2,42 @@ package org.tplus.taskManager.taskManager_crud.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tplus.taskManager.taskManager_crud.dto.TaskDeletedDto;
 import org.tplus.taskManager.taskManager_crud.dto.TaskDto;
+import org.tplus.taskManager.taskManager_crud.dto.TaskField;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
+import org.tplus.taskManager.taskManager_crud.dto.TaskView;
 import org.tplus.taskManager.taskManager_crud.kafka.KafkaClientProducer;
 import org.tplus.taskManager.taskManager_crud.mapper.TaskMapper;
+import org.tplus.taskManager.taskManager_crud.model.ArchivedTask;
 import org.tplus.taskManager.taskManager_crud.model.Task;
+import org.tplus.taskManager.taskManager_crud.overdue.TaskOverdueService;
+import org.tplus.taskManager.taskManager_crud.repository.ArchivedTaskRepository;
 import org.tplus.taskManager.taskManager_crud.repository.TaskRepository;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardContext;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardRangeMovingException;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardRouter;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Сервисный класс для управления задачами {@link Task}.
@@ -34,19 +59,54 @@ public class TaskService {
      * Репозиторий для работы с задачами в базе данных.
      */
     private final TaskRepository taskRepository;
+    /**
+     * Репозиторий архивных задач.
+     */
+    private final ArchivedTaskRepository archivedTaskRepository;
     /**
      * Маппер для преобразования сущностей Task
      */
     private final TaskMapper taskMapper;
     /**
      * Kafka-продюсер для отправки событий об обновлении статуса задачи.
+     * Внедряется лениво, чтобы продюсер создавался при первой отправке, а не при старте.
      */
+    @Lazy
     private final KafkaClientProducer kafkaClientProducer;
     /**
      * Название Kafka-топика для событий об обновлении статуса задачи.
      */
     @Value("t_plus_tasks_update_status")
     private String updateTopic;
+    /**
+     * Название Kafka-топика для событий об удалении задач.
+     */
+    @Value("t_plus_tasks_deleted")
+    private String deleteTopic;
+    /**
+     * Настройки архивации задач.
+     */
+    private final TaskArchiveProperties taskArchiveProperties;
+    /**
+     * Настройки удаления задач.
+     */
+    private final TaskDeleteProperties taskDeleteProperties;
+    /**
+     * Сервис журнала смен статуса задач.
+     */
+    private final TaskStatusHistoryService taskStatusHistoryService;
+    /**
+     * Сервис отслеживания сроков выполнения задач.
+     */
+    private final TaskOverdueService taskOverdueService;
+    /**
+     * Маршрутизатор шардов, существует только в режиме шардирования.
+     */
+    private final ObjectProvider<ShardRouter> shardRouter;
+    /**
+     * Шаблон транзакции записи задачи вместе с журналом статусов.
+     */
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Получает список всех задач.
@@ -60,6 +120,86 @@ public class TaskService {
                 .toList();
     }
 
+    /**
+     * Получает страницу задач по возрастанию идентификатора.
+     * <p>
+     * Следующая страница запрашивается с {@code afterId}, равным идентификатору последней задачи
+     * предыдущей страницы; короткая страница означает, что задач больше нет.
+     * </p>
+     *
+     * @param afterId идентификатор, после которого начинается страница, или {@code null}
+     * @param limit   размер страницы
+     * @return задачи страницы
+     */
+    public List<TaskDto> getTasksPage(Long afterId, int limit) {
+        // при шардировании каждый шард возвращает свою страницу, общая собирается из них
+        return taskRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? Long.MIN_VALUE : afterId, Limit.of(limit))
+                .stream()
+                .sorted(Comparator.comparing(Task::getId))
+                .limit(limit)
+                .map(task -> taskMapper.toTaskDto(task))
+                .toList();
+    }
+
+    /**
+     * Получает список всех задач, при необходимости вместе со страницей архивных.
+     * <p>
+     * Архив растет неограниченно, поэтому архивные задачи читаются страницами по возрастанию
+     * идентификатора: следующая страница запрашивается с {@code archivedAfterId}, равным последнему
+     * идентификатору архивной задачи в предыдущем ответе.
+     * </p>
+     *
+     * @param includeArchived включать ли задачи из архива
+     * @param archivedAfterId идентификатор, после которого начинается страница архива, или {@code null}
+     * @param archivedLimit   размер страницы архива
+     * @return список задач
+     * @throws IllegalArgumentException если размер страницы вне допустимых пределов
+     */
+    public List<TaskDto> getAllTasks(boolean includeArchived, Long archivedAfterId, int archivedLimit) {
+        if (!includeArchived) {
+            return getAllTasks();
+        }
+        if (archivedLimit < 1 || archivedLimit > taskArchiveProperties.getMaxPageSize()) {
+            throw new IllegalArgumentException("archivedLimit must be between 1 and " + taskArchiveProperties.getMaxPageSize());
+        }
+        // при шардировании каждый шард возвращает свою страницу, общая собирается из них
+        List<TaskDto> archived = archivedTaskRepository
+                .findByIdGreaterThanOrderByIdAsc(archivedAfterId == null ? Long.MIN_VALUE : archivedAfterId,
+                        Limit.of(archivedLimit))
+                .stream()
+                .sorted(Comparator.comparing(ArchivedTask::getId))
+                .limit(archivedLimit)
+                .map(task -> taskMapper.toTaskDto(task))
+                .toList();
+        return Stream.concat(getAllTasks().stream(), archived.stream()).toList();
+    }
+
+    /**
+     * Получает список всех задач, содержащих только указанные поля.
+     * <p>
+     * Незапрошенные колонки не выбираются из базы данных.
+     * </p>
+     *
+     * @param fields набор полей
+     * @return частичные представления задач
+     */
+    public List<TaskView> getAllTasks(Set<TaskField> fields) {
+        return taskRepository.findAllProjected(fields);
+    }
+
+    /**
+     * Получает задачу по ее идентификатору, содержащую только указанные поля.
+     *
+     * @param id     идентификатор задачи
+     * @param fields набор полей
+     * @return частичное представление задачи
+     * @throws NoSuchElementException если задача не найдена
+     */
+    public TaskView getTaskById(Long id, Set<TaskField> fields) {
+        return taskRepository.findProjectedById(id, fields)
+                .orElseThrow(() -> new NoSuchElementException("Task not found"));
+    }
+
     /**
      * Получает задачу по ее идентификатору.
      *
@@ -72,17 +212,43 @@ public class TaskService {
                 .orElseThrow(() -> new NoSuchElementException("Task not found"));
     }
 
+    /**
+     * Получает задачу по ее идентификатору, при необходимости выполняя поиск и в архиве.
+     *
+     * @param id              идентификатор задачи
+     * @param includeArchived искать ли задачу в архиве, если ее нет среди актуальных
+     * @return найденная задача
+     * @throws NoSuchElementException если задача не найдена
+     */
+    public TaskDto getTaskById(Long id, boolean includeArchived) {
+        if (!includeArchived) {
+            return getTaskById(id);
+        }
+        return taskRepository.findById(id).map(task -> taskMapper.toTaskDto(task))
+                .or(() -> archivedTaskRepository.findById(id).map(task -> taskMapper.toTaskDto(task)))
+                .orElseThrow(() -> new NoSuchElementException("Task not found"));
+    }
+
     /**
      * Создает новую задачу и сохраняет ее в базе данных.
+     * <p>
+     * Задача и первая запись журнала статусов сохраняются одной транзакцией на шарде пользователя задачи.
+     * </p>
      *
      * @param task объект задачи
      * @return сохраненная задача
      */
     public TaskDto createTask(TaskDto task) {
+        applyDefaultStatus(task);
 
-        Task saveTask = taskRepository.save(taskMapper.toTask(task));
+        Task saveTask = onUserShard(task.getUserId(), () -> transactionTemplate.execute(status -> {
+            Task saved = taskRepository.save(taskMapper.toTask(task));
+            taskStatusHistoryService.recordTransition(saved.getId(), saved.getUserId(), null, saved.getStatus());
+            return saved;
+        }));
 
         task.setId(saveTask.getId());
+        taskOverdueService.reschedule(saveTask.getId(), saveTask.getUserId(), saveTask.getDueDate(), saveTask.getStatus());
 
         return task;
     }
@@ -90,7 +256,14 @@ public class TaskService {
     /**
      * Обновляет существующую задачу по идентификатору.
      * <p>
-     * Если статус задачи изменился, сервис отправляет событие в Kafka.
+     * Задача блокируется до конца транзакции ({@code SELECT ... FOR UPDATE}), поэтому параллельные изменения
+     * одной задачи выполняются по очереди, и смена статуса записывается в журнал той же транзакцией
+     * с правильным предыдущим статусом. После фиксации сервис отправляет событие о смене статуса в Kafka.
+     * Если изменился срок выполнения, отметка о просрочке снимается, и новый срок сработает заново.
+     * </p>
+     * <p>
+     * В режиме шардирования задача сохраняется на шарде, где она хранится, то есть на шарде прежнего пользователя.
+     * Если новый пользователь задачи назначен на другой шард, задача переносится туда с тем же идентификатором.
      * </p>
      *
      * @param id   идентификатор задачи
@@ -99,39 +272,358 @@ public class TaskService {
      * @throws NoSuchElementException если задача не найдена
      */
     public TaskDto updateTask(Long id, TaskDto task) {
-        TaskDto existingTask = getTaskById(id);
+        ShardRouter router = shardRouter.getIfAvailable();
+        if (router == null) {
+            return transactionTemplate.execute(status -> updateLocked(id, task));
+        }
+        int shard = router.shardForUser(getTaskById(id).getUserId());
+        int targetShard = router.shardForUser(task.getUserId());
+        if (shard != targetShard) {
+            return moveTask(id, task, shard, targetShard);
+        }
+        return ShardContext.supplyOn(shard, () -> transactionTemplate.execute(status -> updateLocked(id, task)));
+    }
 
-        existingTask.setTitle(task.getTitle());
-        existingTask.setDescription(task.getDescription());
-        existingTask.setUserId(task.getUserId());
+    /**
+     * Обновляет задачу в текущей транзакции, заблокировав ее строку.
+     *
+     * @param id   идентификатор задачи
+     * @param task данные для обновления задачи
+     * @return обновленная задача
+     * @throws NoSuchElementException если задача не найдена
+     */
+    private TaskDto updateLocked(Long id, TaskDto task) {
+        Task existing = taskRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new NoSuchElementException("Task not found"));
+        TaskChange change = applyChange(existing, task);
+        taskRepository.flush();
 
-        boolean statusChanged = !Objects.equals(existingTask.getStatus(), task.getStatus());
-        existingTask.setStatus(task.getStatus());
+        if (change.dueDateChanged()) {
+            taskRepository.resetOverdueFired(id);
+        }
+        if (change.statusChanged()) {
+            taskStatusHistoryService.recordTransition(id, existing.getUserId(), change.previousStatus(), existing.getStatus());
+        }
+        TaskDto updated = taskMapper.toTaskDto(existing);
+        afterCommit(() -> afterUpdate(updated, change));
+        return updated;
+    }
 
-        taskRepository.save(taskMapper.toTask(existingTask));
+    /**
+     * Переносит задачу на шард нового пользователя с прежним идентификатором.
+     * <p>
+     * Задача блокируется на исходном шарде, вставляется на целевой шард отдельной транзакцией вместе с записью
+     * о смене статуса и удаляется с исходного шарда. Если транзакция исходного шарда не зафиксировалась,
+     * вставленная копия удаляется, и задача остается на месте.
+     * </p>
+     * <p>
+     * Отметка об отправленном событии о просрочке не переносится: перенесенная задача с истекшим сроком
+     * получит событие о просрочке повторно.
+     * </p>
+     *
+     * @param id          идентификатор задачи
+     * @param task        данные для обновления задачи
+     * @param shard       шард, на котором хранится задача
+     * @param targetShard шард нового пользователя задачи
+     * @return обновленная задача
+     * @throws NoSuchElementException если задача не найдена
+     */
+    private TaskDto moveTask(Long id, TaskDto task, int shard, int targetShard) {
+        TransactionTemplate targetTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        targetTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            TaskDto moved = ShardContext.supplyOn(shard, () -> transactionTemplate.execute(status -> {
+                Task existing = taskRepository.findByIdForUpdate(id)
+                        .orElseThrow(() -> new NoSuchElementException("Task not found"));
+                TaskChange change = applyChange(existing, task);
+                TaskDto updated = taskMapper.toTaskDto(existing);
 
-        if (statusChanged) {
+                ShardContext.supplyOn(targetShard, () -> targetTransaction.execute(targetStatus -> {
+                    taskRepository.insertWithId(id, updated.getTitle(), updated.getDescription(), updated.getUserId(),
+                            updated.getStatus().name(), updated.getDueDate());
+                    if (change.statusChanged()) {
+                        taskStatusHistoryService.recordTransition(id, updated.getUserId(), change.previousStatus(),
+                                updated.getStatus());
+                    }
+                    return null;
+                }));
+                taskRepository.delete(existing);
+                taskRepository.flush();
+                afterCommit(() -> afterUpdate(updated, change));
+                return updated;
+            }));
+            log.info("Задача id={} перенесена с шарда {} на шард {} вместе со сменой пользователя", id, shard, targetShard);
+            return moved;
+        } catch (RuntimeException e) {
+            ShardContext.supplyOn(targetShard, () -> targetTransaction.execute(status -> taskRepository.deleteTaskById(id)));
+            throw e;
+        }
+    }
+
+    /**
+     * Переносит данные обновления в загруженную задачу. Отсутствующий статус оставляет прежний.
+     *
+     * @param existing задача, загруженная в текущей транзакции
+     * @param task     данные для обновления задачи
+     * @return что изменилось в задаче
+     */
+    private static TaskChange applyChange(Task existing, TaskDto task) {
+        TaskStatus previousStatus = existing.getStatus();
+        TaskStatus status = task.getStatus() != null ? task.getStatus() : previousStatus;
+        TaskChange change = new TaskChange(previousStatus, !Objects.equals(previousStatus, status),
+                !Objects.equals(existing.getDueDate(), task.getDueDate()));
+
+        existing.setTitle(task.getTitle());
+        existing.setDescription(task.getDescription());
+        existing.setUserId(task.getUserId());
+        existing.setStatus(status);
+        existing.setDueDate(task.getDueDate());
+        return change;
+    }
+
+    /**
+     * Перепланирует срок выполнения и отправляет событие о смене статуса после фиксации обновления.
+     *
+     * @param task   обновленная задача
+     * @param change что изменилось в задаче
+     */
+    private void afterUpdate(TaskDto task, TaskChange change) {
+        if (change.dueDateChanged() || change.statusChanged()) {
+            taskOverdueService.reschedule(task.getId(), task.getUserId(), task.getDueDate(), task.getStatus());
+        }
+        if (change.statusChanged()) {
             try {
-                kafkaClientProducer.sendTo(updateTopic, taskMapper.toStatusUpdateDto(taskMapper.toTask(existingTask)));
+                kafkaClientProducer.sendTo(updateTopic, taskMapper.toStatusUpdateDto(taskMapper.toTask(task)));
             } catch (Exception e) {
-                log.error("Не удалось отправить событие в Kafka для таски с id={}: {}", id, e.getMessage(), e);
+                log.error("Не удалось отправить событие в Kafka для таски с id={}: {}", task.getId(), e.getMessage(), e);
             }
         }
+    }
+
+    /**
+     * Выполняет действие на шарде пользователя либо как есть, если шардирование выключено.
+     *
+     * @param userId идентификатор пользователя
+     * @param action действие
+     * @param <T>    тип результата
+     * @return результат действия
+     */
+    private <T> T onUserShard(Long userId, Supplier<T> action) {
+        ShardRouter router = shardRouter.getIfAvailable();
+        return router == null ? action.get() : ShardContext.supplyOn(router.shardForUser(userId), action);
+    }
+
+    /**
+     * Раскладывает позиции задач пачки по шардам их пользователей.
+     *
+     * @param tasks данные задач
+     * @return позиции задач в {@code tasks} по номерам шардов в порядке первой задачи шарда;
+     * без шардирования все задачи относятся к шарду 0
+     * @throws ShardRangeMovingException если пользователь одной из задач переносится на другой шард
+     */
+    public Map<Integer, List<Integer>> groupByUserShard(List<TaskDto> tasks) {
+        ShardRouter router = shardRouter.getIfAvailable();
+        Map<Integer, List<Integer>> byShard = new LinkedHashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            int shard = router == null ? 0 : router.shardForUser(tasks.get(i).getUserId());
+            byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(i);
+        }
+        return byShard;
+    }
+
+    /**
+     * Создает задачи пользователей одного шарда в одной транзакции на этом шарде.
+     * <p>
+     * Шард выбирается до начала транзакции, поэтому соединение берется из источника данных шарда.
+     * </p>
+     *
+     * @param shard номер шарда из {@link #groupByUserShard(List)}
+     * @param tasks данные задач этого шарда
+     * @return созданные задачи с присвоенными идентификаторами в порядке {@code tasks}
+     */
+    public List<TaskDto> createTasksOnShard(int shard, List<TaskDto> tasks) {
+        ShardRouter router = shardRouter.getIfAvailable();
+        Supplier<List<TaskDto>> create = () -> transactionTemplate.execute(status -> createTasks(tasks));
+        return router == null ? create.get() : ShardContext.supplyOn(shard, create);
+    }
+
+    /**
+     * Создает несколько задач в одной транзакции.
+     * <p>
+     * Вставки отправляются одним пакетом JDBC ({@code hibernate.jdbc.batch_size}), а драйвер PostgreSQL
+     * с {@code reWriteBatchedInserts} объединяет их в многострочные INSERT. Таймеры сроков выполнения
+     * ставятся после фиксации транзакции.
+     * </p>
+     * <p>
+     * В режиме шардирования транзакция привязывается к шарду, выбранному до ее начала, поэтому вызывающий
+     * должен выбрать шард в {@link ShardContext}; пачку задач разных пользователей создает
+     * {@link #createTasksOnShard(int, List)} по шардам из {@link #groupByUserShard(List)}.
+     * </p>
+     *
+     * @param tasks данные задач
+     * @return созданные задачи с присвоенными идентификаторами в порядке {@code tasks}
+     * @throws IllegalStateException если шардирование включено, а шард не выбран
+     */
+    @Transactional
+    public List<TaskDto> createTasks(List<TaskDto> tasks) {
+        requireShardSelected();
+        tasks.forEach(TaskService::applyDefaultStatus);
+        List<Task> saved = taskRepository.saveAll(tasks.stream().map(task -> taskMapper.toTask(task)).toList());
+        taskRepository.flush();
 
-        return existingTask;
+        List<TaskDto> created = new ArrayList<>(saved.size());
+        for (Task task : saved) {
+            taskStatusHistoryService.recordTransition(task.getId(), task.getUserId(), null, task.getStatus());
+            created.add(taskMapper.toTaskDto(task));
+        }
+        afterCommit(() -> created.forEach(task ->
+                taskOverdueService.reschedule(task.getId(), task.getUserId(), task.getDueDate(), task.getStatus())));
+        return created;
+    }
+
+    /**
+     * Обновляет несколько задач в одной транзакции.
+     * <p>
+     * Задачи загружаются и блокируются одним запросом ({@code SELECT ... FOR UPDATE}), изменения отправляются
+     * пакетом JDBC UPDATE при сбросе контекста.
+     * Семантика для каждой задачи та же, что у {@link #updateTask(Long, TaskDto)}; события о смене статуса
+     * отправляются в Kafka одной пачкой после фиксации транзакции.
+     * </p>
+     * <p>
+     * Пачка применяется на одном шарде, выбранном вызывающим в {@link ShardContext} до начала транзакции:
+     * иначе задачи читались бы опросом всех шардов вне транзакции и изменения не сохранялись бы.
+     * Задачи других шардов считаются ненайденными, а смена пользователя, требующая переноса задачи
+     * на другой шард, отклоняется.
+     * </p>
+     *
+     * @param updates данные для обновления по идентификаторам задач
+     * @return обновленные задачи по идентификаторам; ненайденные задачи в результат не попадают
+     * @throws IllegalArgumentException если новый пользователь одной из задач назначен на другой шард
+     * @throws IllegalStateException    если шардирование включено, а шард не выбран
+     */
+    @Transactional
+    public Map<Long, TaskDto> updateTasks(Map<Long, TaskDto> updates) {
+        requireShardSelected();
+        Map<Long, TaskDto> updated = new LinkedHashMap<>();
+        List<Long> dueDateChanged = new ArrayList<>();
+        List<TaskDto> rescheduled = new ArrayList<>();
+        List<Task> statusChanged = new ArrayList<>();
+        ShardRouter router = shardRouter.getIfAvailable();
+
+        for (Task existing : taskRepository.findByIdInForUpdate(updates.keySet())) {
+            TaskDto task = updates.get(existing.getId());
+            if (router != null && router.shardForUser(existing.getUserId()) != router.shardForUser(task.getUserId())) {
+                throw new IllegalArgumentException("Changing the user of task " + existing.getId()
+                        + " moves it to another shard and is not supported in a batch");
+            }
+            TaskChange change = applyChange(existing, task);
+
+            TaskDto result = taskMapper.toTaskDto(existing);
+            updated.put(existing.getId(), result);
+            if (change.dueDateChanged()) {
+                dueDateChanged.add(existing.getId());
+            }
+            if (change.dueDateChanged() || change.statusChanged()) {
+                rescheduled.add(result);
+            }
+            if (change.statusChanged()) {
+                taskStatusHistoryService.recordTransition(existing.getId(), existing.getUserId(),
+                        change.previousStatus(), existing.getStatus());
+                statusChanged.add(existing);
+            }
+        }
+        taskRepository.flush();
+        if (!dueDateChanged.isEmpty()) {
+            taskRepository.resetOverdueFiredIn(dueDateChanged);
+        }
+
+        List<Object> events = statusChanged.stream().map(task -> (Object) taskMapper.toStatusUpdateDto(task)).toList();
+        afterCommit(() -> {
+            rescheduled.forEach(task ->
+                    taskOverdueService.reschedule(task.getId(), task.getUserId(), task.getDueDate(), task.getStatus()));
+            if (!events.isEmpty()) {
+                try {
+                    kafkaClientProducer.sendBatch(updateTopic, events);
+                } catch (Exception e) {
+                    log.error("Не удалось отправить события в Kafka для тасок: {}", e.getMessage(), e);
+                }
+            }
+        });
+        return updated;
+    }
+
+    /**
+     * Проверяет, что в режиме шардирования пачка выполняется на выбранном шарде.
+     *
+     * @throws IllegalStateException если шардирование включено, а шард не выбран
+     */
+    private void requireShardSelected() {
+        if (shardRouter.getIfAvailable() != null && ShardContext.current() == null) {
+            throw new IllegalStateException("A shard must be selected before a batch transaction starts");
+        }
+    }
+
+    /**
+     * Присваивает новой задаче без статуса статус {@link TaskStatus#NEW}: колонка статуса обязательна,
+     * так как по ней партиционирована таблица задач.
+     *
+     * @param task данные задачи
+     */
+    private static void applyDefaultStatus(TaskDto task) {
+        if (task.getStatus() == null) {
+            task.setStatus(TaskStatus.NEW);
+        }
+    }
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции либо сразу, если транзакции нет.
+     *
+     * @param action действие
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     /**
      * Удаляет задачу по ее идентификатору.
+     * <p>
+     * Выполняется одним оператором, по количеству затронутых строк определяется, существовала ли задача.
+     * В режиме мягкого удаления задача только помечается удаленной, окончательно ее удаляет {@link TaskPurgeService};
+     * при обычном удалении событие об удалении сразу отправляется в Kafka.
+     * </p>
      *
      * @param id идентификатор задачи
-     * @throws RuntimeException если задача не найдена
+     * @throws NoSuchElementException если задача не найдена
      */
     public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new RuntimeException("Task not found");
+        if (taskDeleteProperties.isSoft()) {
+            if (taskRepository.softDeleteTaskById(id) == 0) {
+                throw new NoSuchElementException("Task not found");
+            }
+            return;
         }
-        taskRepository.deleteById(id);
+        if (taskRepository.deleteTaskById(id) == 0) {
+            throw new NoSuchElementException("Task not found");
+        }
+        kafkaClientProducer.sendTo(deleteTopic, TaskDeletedDto.builder().id(id).build());
     }
 
+    /**
+     * Изменения задачи, от которых зависят журнал статусов, сроки и события.
+     *
+     * @param previousStatus статус до обновления
+     * @param statusChanged  изменился ли статус
+     * @param dueDateChanged изменился ли срок выполнения
+     */
+    private record TaskChange(TaskStatus previousStatus, boolean statusChanged, boolean dueDateChanged) {
+    }
 }
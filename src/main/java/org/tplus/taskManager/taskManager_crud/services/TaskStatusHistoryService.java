@@ -0,0 +1,131 @@
+package org.tplus.taskManager.taskManager_crud.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatusDailyDto;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatusTimeDto;
+import org.tplus.taskManager.taskManager_crud.model.TaskStatusTransition;
+import org.tplus.taskManager.taskManager_crud.repository.TaskStatusRollupRepository;
+import org.tplus.taskManager.taskManager_crud.repository.TaskStatusTransitionRepository;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardContext;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardRouter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Сервис журнала смен статуса задач и аналитики времени в статусах.
+ * <p>
+ * Каждая смена статуса записывается в журнал и одновременно учитывается в ежедневных агрегатах,
+ * поэтому аналитические запросы читают только агрегаты. Время в статусе относится к дню выхода из него.
+ * </p>
+ * <p>
+ * Смена статуса записывается только в транзакции, изменяющей задачу, и после блокировки строки задачи:
+ * ошибка записи откатывает изменение задачи, а предыдущая запись журнала читается уже после того, как
+ * параллельное изменение той же задачи зафиксировано. В режиме шардирования журнал и агрегаты хранятся
+ * на шарде пользователя вместе с его задачами, поэтому аналитика пользователя читается с его шарда.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class TaskStatusHistoryService {
+    /**
+     * Идентификатор пользователя в агрегатах для задач без пользователя.
+     */
+    private static final long NO_USER = 0L;
+
+    /**
+     * Репозиторий журнала смен статуса.
+     */
+    private final TaskStatusTransitionRepository transitionRepository;
+    /**
+     * Репозиторий ежедневных агрегатов.
+     */
+    private final TaskStatusRollupRepository rollupRepository;
+    /**
+     * Маршрутизатор шардов, существует только в режиме шардирования.
+     */
+    private final ObjectProvider<ShardRouter> shardRouter;
+
+    /**
+     * Записывает смену статуса задачи и обновляет агрегаты.
+     *
+     * @param taskId идентификатор задачи
+     * @param userId идентификатор пользователя задачи
+     * @param from   предыдущий статус, {@code null} для новой задачи
+     * @param to     новый статус
+     * @throws org.springframework.transaction.IllegalTransactionStateException если транзакции нет
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Long taskId, Long userId, TaskStatus from, TaskStatus to) {
+        Instant now = Instant.now();
+        Optional<TaskStatusTransition> previous = transitionRepository.findFirstByTaskIdOrderByChangedAtDesc(taskId);
+        transitionRepository.save(new TaskStatusTransition(null, taskId, userId, from, to, now));
+
+        long user = userId != null ? userId : NO_USER;
+        LocalDate day = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        if (from != null && previous.isPresent()) {
+            long durationMs = Duration.between(previous.get().getChangedAt(), now).toMillis();
+            rollupRepository.addExit(user, day, from.name(), durationMs);
+        }
+        if (to != null) {
+            rollupRepository.addEntry(user, day, to.name());
+        }
+    }
+
+    /**
+     * Получает итоги по статусам задач пользователя за период.
+     *
+     * @param userId идентификатор пользователя
+     * @param from   первый день периода включительно
+     * @param to     последний день периода включительно
+     * @return количество переходов, суммарное и среднее время по каждому статусу
+     */
+    public List<TaskStatusTimeDto> getStatusTime(Long userId, LocalDate from, LocalDate to) {
+        return onUserShard(userId, () -> rollupRepository.summarize(userId, from, to));
+    }
+
+    /**
+     * Получает ежедневные агрегаты по статусам задач пользователя за период.
+     *
+     * @param userId идентификатор пользователя
+     * @param from   первый день периода включительно
+     * @param to     последний день периода включительно
+     * @return агрегаты по дням и статусам
+     */
+    public List<TaskStatusDailyDto> getDailyStatusTime(Long userId, LocalDate from, LocalDate to) {
+        return onUserShard(userId, () -> rollupRepository.findByUserIdAndDayBetweenOrderByDayAscStatusAsc(userId, from, to))
+                .stream()
+                .map(rollup -> new TaskStatusDailyDto(rollup.getDay(), rollup.getStatus(),
+                        rollup.getEnteredCount(), rollup.getExitedCount(), rollup.getTotalDurationMs()))
+                .toList();
+    }
+
+    /**
+     * Выполняет чтение на шарде пользователя либо как есть, если шардирование выключено.
+     *
+     * @param userId идентификатор пользователя
+     * @param action чтение
+     * @param <T>    тип результата
+     * @return результат чтения
+     */
+    private <T> T onUserShard(Long userId, Supplier<T> action) {
+        ShardRouter router = shardRouter.getIfAvailable();
+        return router == null ? action.get() : ShardContext.supplyOn(router.shardForUser(userId), action);
+    }
+}
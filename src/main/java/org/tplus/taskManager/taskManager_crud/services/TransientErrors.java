@@ -0,0 +1,42 @@
+package org.tplus.taskManager.taskManager_crud.services;
+
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.tplus.taskManager.taskManager_crud.sharding.ShardRangeMovingException;
+
+/**
+ * Распознавание временных ошибок, после которых повтор может завершиться успешно.
+ * <p>
+ * Используется везде, где решается, повторять ли операцию или отклонять данные: при применении команд записи,
+ * в обработчике ошибок их слушателя и в gRPC-сервисе. Проверяется вся цепочка причин, так как Spring Kafka
+ * и прокси транзакций оборачивают исходную ошибку.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class TransientErrors {
+
+    private TransientErrors() {
+    }
+
+    /**
+     * Проверяет, вызвана ли ошибка переносом диапазона шарда, недоступностью или перегрузкой базы данных.
+     *
+     * @param ex ошибка
+     * @return {@code true}, если ошибка или одна из ее причин временная
+     */
+    public static boolean isTransient(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ShardRangeMovingException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Кольцо консистентного хеширования с виртуальными узлами.
+ * <p>
+ * Каждый шард размещается на кольце {@code virtualNodes} раз, ключ относится к первому
+ * узлу по часовой стрелке. При добавлении шарда перемещается лишь около {@code 1/N} ключей.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ConsistentHashRing {
+    /**
+     * Позиции виртуальных узлов на кольце и соответствующие им шарды.
+     */
+    private final TreeMap<Long, Integer> ring = new TreeMap<>();
+
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash(((long) shard << 32) | node), shard);
+            }
+        }
+    }
+
+    /**
+     * Определяет шард для ключа.
+     *
+     * @param key ключ, например идентификатор пользователя
+     * @return номер шарда
+     */
+    public int shardFor(long key) {
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Перемешивающая функция SplitMix64: близкие ключи получают далекие позиции на кольце.
+     *
+     * @param value исходное значение
+     * @return позиция на кольце
+     */
+    private static long hash(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,389 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.tplus.taskManager.taskManager_crud.dto.ShardMoveResultDto;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Перенос задач диапазона пользователей на другой шард без остановки приложения.
+ * <p>
+ * Порядок переноса:
+ * <ol>
+ *     <li>на каждом исходном шарде запоминается момент начала копирования и перенос ждет завершения
+ *     транзакций, начатых раньше него: {@code updated_at} равен времени начала пишущей транзакции,
+ *     поэтому более старая транзакция, зафиксированная позже копирования, иначе не попала бы
+ *     в повторное копирование;</li>
+ *     <li>задачи диапазона копируются со всех остальных шардов на целевой пачками, записи продолжаются;</li>
+ *     <li>сохраняется неактивное назначение диапазона на целевой шард: реплики, загрузившие его,
+ *     отклоняют записи задач диапазона;</li>
+ *     <li>перенос ждет, пока назначение загрузят все работающие реплики; если за
+ *     {@code task-sharding.override-ack-timeout} этого не произошло, назначение отменяется,
+ *     а копии удаляются с целевого шарда;</li>
+ *     <li>диапазон замораживается на исходных шардах ({@code task_frozen_ranges}): триггер отклоняет
+ *     любые его записи, в том числе от запросов, начатых до назначения, и перенос ждет завершения
+ *     транзакций, начатых до заморозки;</li>
+ *     <li>задачи, измененные на исходных шардах после начала копирования, копируются повторно,
+ *     а копии задач, удаленных за это время, удаляются с целевого шарда;</li>
+ *     <li>назначение активируется, записи идут уже на целевой шард;</li>
+ *     <li>с исходных шардов пачками удаляются только задачи, измененные не позже повторного копирования,
+ *     после чего диапазон размораживается.</li>
+ * </ol>
+ * Архивные задачи остаются на прежних шардах: чтение по идентификатору находит их опросом всех шардов.
+ * Одновременно должен выполняться только один перенос.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReshardingService {
+    /**
+     * Переносимые колонки таблицы задач.
+     */
+    private static final List<String> COLUMNS = List.of(
+            "id", "title", "description", "user_id", "status", "updated_at", "deleted_at",
+            "due_date", "overdue_fired_at");
+    /**
+     * Типы переносимых колонок в порядке {@link #COLUMNS}.
+     */
+    private static final List<String> COLUMN_TYPES = List.of(
+            "bigint", "varchar", "varchar", "bigint", "varchar", "timestamptz", "timestamptz",
+            "timestamptz", "timestamptz");
+
+    private static final String SELECT_SQL = "SELECT " + String.join(", ", COLUMNS)
+            + " FROM tasks WHERE user_id BETWEEN ? AND ? AND id > ? AND updated_at >= ? ORDER BY id LIMIT ?";
+
+    /**
+     * Первичный ключ таблицы задач — пара (id, status), поэтому ON CONFLICT не заметит задачу,
+     * уже записанную на целевой шард в другом статусе. Наличие задачи проверяется по одному id.
+     */
+    private static final String INSERT_SQL = "INSERT INTO tasks (" + String.join(", ", COLUMNS) + ")"
+            + " SELECT * FROM (VALUES (" + COLUMN_TYPES.stream().map(type -> "?::" + type).collect(Collectors.joining(", "))
+            + ")) AS copied (" + String.join(", ", COLUMNS) + ")"
+            + " WHERE NOT EXISTS (SELECT 1 FROM tasks existing WHERE existing.id = copied.id)";
+
+    private static final String DELETE_BY_ID_SQL = "DELETE FROM tasks WHERE id = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM tasks WHERE id IN"
+            + " (SELECT id FROM tasks WHERE user_id BETWEEN ? AND ? AND updated_at <= ? LIMIT ?)";
+
+    private static final String SELECT_COPIES_SQL = "SELECT id, user_id FROM tasks"
+            + " WHERE user_id BETWEEN ? AND ? AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String SELECT_IDS_SQL = "SELECT id FROM tasks"
+            + " WHERE user_id BETWEEN ? AND ? AND id > ? ORDER BY id LIMIT ?";
+
+    /**
+     * Источники данных шардов.
+     */
+    private final ShardDataSources shardDataSources;
+    /**
+     * Маршрутизатор шардов.
+     */
+    private final ShardRouter shardRouter;
+    /**
+     * Хранилище назначений диапазонов.
+     */
+    private final ShardOverrideStore shardOverrideStore;
+    /**
+     * Размер пачки.
+     */
+    private final int batchSize;
+    /**
+     * Сколько ждать, пока новое назначение загрузят все работающие реплики.
+     */
+    private final Duration overrideAckTimeout;
+
+    /**
+     * Переносит задачи пользователей из диапазона на целевой шард.
+     *
+     * @param fromUserId  первый идентификатор пользователя включительно
+     * @param toUserId    последний идентификатор пользователя включительно
+     * @param targetShard номер целевого шарда
+     * @return количество скопированных и удаленных задач
+     * @throws IllegalArgumentException если диапазон или шард некорректны
+     */
+    public ShardMoveResultDto moveUsers(long fromUserId, long toUserId, int targetShard) {
+        if (fromUserId > toUserId) {
+            throw new IllegalArgumentException("fromUserId must not be greater than toUserId");
+        }
+        if (!shardRouter.getShards().contains(targetShard)) {
+            throw new IllegalArgumentException("Unknown shard: " + targetShard);
+        }
+        List<Integer> sources = shardRouter.getShards().stream().filter(shard -> shard != targetShard).toList();
+        JdbcTemplate target = shardDataSources.jdbc(targetShard);
+
+        Map<Integer, Timestamp> copyStartedAt = new HashMap<>();
+        long copied = 0;
+        for (int source : sources) {
+            JdbcTemplate jdbc = shardDataSources.jdbc(source);
+            Timestamp startedAt = jdbc.queryForObject("SELECT now()", Timestamp.class);
+            awaitTransactionsStartedBefore(jdbc, startedAt);
+            copyStartedAt.put(source, startedAt);
+            copied += copy(jdbc, target, fromUserId, toUserId, new Timestamp(0), false);
+        }
+
+        ShardOverride override = shardOverrideStore.createPending(fromUserId, toUserId, targetShard);
+        try {
+            shardOverrideStore.awaitReplicas(overrideAckTimeout);
+        } catch (RuntimeException e) {
+            cancel(override, sources, target);
+            throw e;
+        }
+        log.info("Записи пользователей {}..{} приостановлены на всех репликах", fromUserId, toUserId);
+
+        Map<Integer, Timestamp> recopiedAt = new HashMap<>();
+        try {
+            for (int source : sources) {
+                freeze(shardDataSources.jdbc(source), override);
+            }
+            for (int source : sources) {
+                JdbcTemplate jdbc = shardDataSources.jdbc(source);
+                recopiedAt.put(source, jdbc.queryForObject("SELECT now()", Timestamp.class));
+                copied += copy(jdbc, target, fromUserId, toUserId, copyStartedAt.get(source), true);
+            }
+            removeDeletedCopies(override, sources, target);
+        } catch (RuntimeException e) {
+            cancel(override, sources, target);
+            throw e;
+        }
+
+        shardOverrideStore.activate(override.id());
+        log.info("Пользователи {}..{} назначены на шард {}", fromUserId, toUserId, targetShard);
+
+        long deleted = 0;
+        for (int source : sources) {
+            deleted += deleteMoved(source, fromUserId, toUserId, recopiedAt.get(source));
+            unfreeze(shardDataSources.jdbc(source), override);
+        }
+        log.info("Перенос пользователей {}..{} на шард {} завершен: скопировано {}, удалено {}",
+                fromUserId, toUserId, targetShard, copied, deleted);
+        return new ShardMoveResultDto(copied, deleted);
+    }
+
+    /**
+     * Отменяет перенос: назначение отменяется, копии удаляются с целевого шарда, диапазон размораживается.
+     *
+     * @param override назначение переноса
+     * @param sources  исходные шарды
+     * @param target   целевой шард
+     */
+    private void cancel(ShardOverride override, List<Integer> sources, JdbcTemplate target) {
+        shardOverrideStore.cancel(override.id());
+        for (int source : sources) {
+            JdbcTemplate jdbc = shardDataSources.jdbc(source);
+            removeCopies(jdbc, target, override.fromUserId(), override.toUserId());
+            unfreeze(jdbc, override);
+        }
+        log.warn("Перенос пользователей {}..{} на шард {} отменен",
+                override.fromUserId(), override.toUserId(), override.shard());
+    }
+
+    /**
+     * Замораживает диапазон на исходном шарде и ждет завершения транзакций, начатых до заморозки:
+     * они могли пройти проверку триггера раньше, чем появилась запись о заморозке.
+     *
+     * @param source   исходный шард
+     * @param override назначение переноса
+     */
+    private void freeze(JdbcTemplate source, ShardOverride override) {
+        source.update("INSERT INTO task_frozen_ranges (override_id, from_user_id, to_user_id) VALUES (?, ?, ?)"
+                + " ON CONFLICT DO NOTHING", override.id(), override.fromUserId(), override.toUserId());
+        Long frozenAt = source.queryForObject("SELECT txid_snapshot_xmax(txid_current_snapshot())", Long.class);
+        await(() -> {
+            Long oldestRunning = source.queryForObject("SELECT txid_snapshot_xmin(txid_current_snapshot())", Long.class);
+            return oldestRunning != null && frozenAt != null && oldestRunning >= frozenAt;
+        }, "Transactions started before the range was frozen did not finish");
+    }
+
+    /**
+     * Ждет завершения транзакций исходного шарда, начатых раньше указанного момента.
+     * <p>
+     * Ожидание по {@code txid_snapshot_xmin}, как при заморозке, здесь не подходит: номер транзакции
+     * выдается при первой записи, а {@code updated_at} — время начала транзакции, поэтому транзакция,
+     * начатая раньше, но еще ничего не записавшая, получила бы номер новее границы.
+     * Видимость {@code pg_stat_activity} требует, чтобы перенос работал под той же ролью, что и приложение,
+     * либо под ролью с {@code pg_read_all_stats}.
+     * </p>
+     *
+     * @param source    исходный шард
+     * @param startedAt момент начала копирования
+     */
+    private void awaitTransactionsStartedBefore(JdbcTemplate source, Timestamp startedAt) {
+        await(() -> {
+            Integer running = source.queryForObject("SELECT count(*) FROM pg_stat_activity"
+                    + " WHERE datname = current_database() AND pid <> pg_backend_pid() AND xact_start < ?",
+                    Integer.class, startedAt);
+            return running != null && running == 0;
+        }, "Transactions started before copying did not finish");
+    }
+
+    /**
+     * Опрашивает условие, пока оно не выполнится или не истечет {@code task-sharding.override-ack-timeout}.
+     *
+     * @param done    условие завершения ожидания
+     * @param timeout сообщение исключения по истечении времени
+     * @throws IllegalStateException если время истекло или поток прерван
+     */
+    private void await(BooleanSupplier done, String timeout) {
+        long deadline = System.nanoTime() + overrideAckTimeout.toNanos();
+        while (!done.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(timeout);
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for running transactions", e);
+            }
+        }
+    }
+
+    /**
+     * Снимает заморозку диапазона на исходном шарде.
+     *
+     * @param source   исходный шард
+     * @param override назначение переноса
+     */
+    private void unfreeze(JdbcTemplate source, ShardOverride override) {
+        source.update("DELETE FROM task_frozen_ranges WHERE override_id = ?", override.id());
+    }
+
+    /**
+     * Удаляет с исходного шарда задачи диапазона, измененные не позже повторного копирования.
+     * Удаление выполняется в обход заморозки диапазона.
+     *
+     * @param source       исходный шард
+     * @param fromUserId   первый идентификатор пользователя включительно
+     * @param toUserId     последний идентификатор пользователя включительно
+     * @param copiedUpTo   момент начала повторного копирования на этом шарде
+     * @return количество удаленных задач
+     */
+    private long deleteMoved(int source, long fromUserId, long toUserId, Timestamp copiedUpTo) {
+        DataSource dataSource = shardDataSources.dataSources().get(source);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        long deleted = 0;
+        int batch;
+        do {
+            batch = transaction.execute(status -> {
+                jdbc.execute("SET LOCAL task.resharding = 'on'");
+                return jdbc.update(DELETE_SQL, fromUserId, toUserId, copiedUpTo, batchSize);
+            });
+            deleted += batch;
+        } while (batch > 0);
+        return deleted;
+    }
+
+    /**
+     * Удаляет с целевого шарда копии задач, которые были удалены на исходных шардах после первого копирования.
+     * Задачи пользователей, хранившиеся на целевом шарде еще до переноса, не затрагиваются.
+     *
+     * @param override назначение переноса
+     * @param sources  исходные шарды
+     * @param target   целевой шард
+     */
+    private void removeDeletedCopies(ShardOverride override, List<Integer> sources, JdbcTemplate target) {
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<Map<String, Object>> rows = target.queryForList(
+                    SELECT_COPIES_SQL, override.fromUserId(), override.toUserId(), lastId, batchSize);
+            if (rows.isEmpty()) {
+                return;
+            }
+            List<Long> copies = rows.stream()
+                    .filter(row -> shardRouter.shardForUserExcluding(
+                            ((Number) row.get("user_id")).longValue(), override.id()) != override.shard())
+                    .map(row -> ((Number) row.get("id")).longValue())
+                    .toList();
+            if (!copies.isEmpty()) {
+                Set<Long> remaining = new HashSet<>();
+                String in = copies.stream().map(id -> "?").collect(Collectors.joining(", "));
+                for (int source : sources) {
+                    remaining.addAll(shardDataSources.jdbc(source).queryForList(
+                            "SELECT id FROM tasks WHERE id IN (" + in + ")", Long.class, copies.toArray()));
+                }
+                List<Object[]> removed = copies.stream()
+                        .filter(id -> !remaining.contains(id))
+                        .map(id -> new Object[]{id})
+                        .toList();
+                if (!removed.isEmpty()) {
+                    target.batchUpdate(DELETE_BY_ID_SQL, removed);
+                }
+            }
+            lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+        }
+    }
+
+    /**
+     * Удаляет с целевого шарда копии задач диапазона, оставшиеся на исходном шарде, после отмены переноса.
+     *
+     * @param source     исходный шард
+     * @param target     целевой шард
+     * @param fromUserId первый идентификатор пользователя включительно
+     * @param toUserId   последний идентификатор пользователя включительно
+     */
+    private void removeCopies(JdbcTemplate source, JdbcTemplate target, long fromUserId, long toUserId) {
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<Long> ids = source.queryForList(SELECT_IDS_SQL, Long.class, fromUserId, toUserId, lastId, batchSize);
+            if (ids.isEmpty()) {
+                return;
+            }
+            target.batchUpdate("DELETE FROM tasks WHERE id = ?", ids.stream().map(id -> new Object[]{id}).toList());
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    /**
+     * Копирует задачи диапазона с исходного шарда на целевой пачками по возрастанию идентификатора.
+     *
+     * @param source       исходный шард
+     * @param target       целевой шард
+     * @param fromUserId   первый идентификатор пользователя включительно
+     * @param toUserId     последний идентификатор пользователя включительно
+     * @param changedSince копировать только задачи, измененные не раньше этого момента
+     * @param replace      заменять ли уже скопированные версии задач; безопасно только при замороженном диапазоне
+     * @return количество скопированных задач
+     */
+    private long copy(JdbcTemplate source, JdbcTemplate target, long fromUserId, long toUserId,
+                      Timestamp changedSince, boolean replace) {
+        long copied = 0;
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<Map<String, Object>> rows = source.queryForList(
+                    SELECT_SQL, fromUserId, toUserId, lastId, changedSince, batchSize);
+            if (rows.isEmpty()) {
+                return copied;
+            }
+            List<Object[]> batchArgs = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                if (replace) {
+                    target.update(DELETE_BY_ID_SQL, row.get("id"));
+                }
+                batchArgs.add(COLUMNS.stream().map(row::get).toArray());
+            }
+            target.batchUpdate(INSERT_SQL, batchArgs);
+            copied += rows.size();
+            lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+        }
+    }
+}
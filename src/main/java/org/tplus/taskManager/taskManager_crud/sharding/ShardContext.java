@@ -0,0 +1,86 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Хранит номер шарда, с которым работает текущий поток.
+ * <p>
+ * Значение читает {@link ShardRoutingDataSource} при получении соединения,
+ * поэтому шард должен быть выбран до начала транзакции.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Действие, выполняемое на выбранном шарде.
+     *
+     * @param <T> тип результата
+     */
+    @FunctionalInterface
+    public interface ShardCall<T> {
+        T call() throws Throwable;
+    }
+
+    /**
+     * Возвращает шард текущего потока.
+     *
+     * @return номер шарда или {@code null}, если шард не выбран
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Выполняет действие на указанном шарде и восстанавливает предыдущее значение.
+     *
+     * @param shard номер шарда
+     * @param call  действие
+     * @param <T>   тип результата
+     * @return результат действия
+     * @throws Throwable исключение, выброшенное действием
+     */
+    public static <T> T callOn(int shard, ShardCall<T> call) throws Throwable {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Выполняет действие без проверяемых исключений на указанном шарде.
+     *
+     * @param shard  номер шарда
+     * @param action действие
+     * @param <T>    тип результата
+     * @return результат действия
+     */
+    public static <T> T supplyOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
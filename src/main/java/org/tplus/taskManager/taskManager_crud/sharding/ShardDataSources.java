@@ -0,0 +1,43 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Источники данных всех шардов, доступные напрямую в обход {@link ShardRoutingDataSource}.
+ *
+ * @param dataSources источники данных, индекс в списке — номер шарда
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public record ShardDataSources(List<DataSource> dataSources) implements Closeable {
+
+    /**
+     * Создает JdbcTemplate для базы шарда.
+     *
+     * @param shard номер шарда
+     * @return JdbcTemplate шарда
+     */
+    public JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(dataSources.get(shard));
+    }
+
+    /**
+     * Закрывает пулы соединений всех шардов.
+     *
+     * @throws IOException если пул не удалось закрыть
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+/**
+ * Явное назначение диапазона пользователей на шард в обход консистентного хеширования.
+ * <p>
+ * Появляется в результате перешардирования {@link ReshardingService}. Пока перенос не завершен,
+ * назначение неактивно, и записи задач пользователей диапазона отклоняются.
+ * </p>
+ *
+ * @param id         идентификатор назначения
+ * @param fromUserId первый идентификатор пользователя диапазона включительно
+ * @param toUserId   последний идентификатор пользователя диапазона включительно
+ * @param shard      номер шарда
+ * @param active     завершен ли перенос диапазона
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public record ShardOverride(long id, long fromUserId, long toUserId, int shard, boolean active) {
+
+    /**
+     * Проверяет, входит ли пользователь в диапазон.
+     *
+     * @param userId идентификатор пользователя
+     * @return {@code true}, если входит
+     */
+    public boolean contains(long userId) {
+        return userId >= fromUserId && userId <= toUserId;
+    }
+}
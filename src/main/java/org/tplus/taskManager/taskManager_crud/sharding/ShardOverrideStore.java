@@ -0,0 +1,174 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Хранилище назначений диапазонов пользователей на шарды в таблице {@code task_shard_overrides} шарда 0.
+ * <p>
+ * Назначения загружаются в {@link ShardRouter} после создания всех бинов, то есть после применения миграций,
+ * но до начала обработки HTTP-запросов, а затем каждая реплика опрашивает таблицу по возрастанию версии
+ * и подтверждает последнюю загруженную версию в {@code task_shard_override_acks}.
+ * {@link #awaitReplicas(Duration)} позволяет перешардированию дождаться, пока изменение назначения
+ * увидят все работающие реплики.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ShardOverrideStore implements SmartInitializingSingleton {
+
+    private static final String SELECT_CHANGED_SQL = """
+            SELECT id, from_user_id, to_user_id, shard, state, version
+            FROM task_shard_overrides
+            WHERE version > ?
+            ORDER BY version""";
+
+    private static final String ACK_SQL = """
+            INSERT INTO task_shard_override_acks (worker_id, version, seen_at) VALUES (?, ?, now())
+            ON CONFLICT (worker_id) DO UPDATE SET version = EXCLUDED.version, seen_at = EXCLUDED.seen_at""";
+
+    private static final String LAGGING_REPLICAS_SQL = """
+            SELECT count(*) FROM task_shard_override_acks
+            WHERE version < ? AND seen_at > now() - ? * interval '1 millisecond'""";
+
+    /**
+     * Источники данных шардов.
+     */
+    private final ShardDataSources shardDataSources;
+    /**
+     * Маршрутизатор шардов.
+     */
+    private final ShardRouter shardRouter;
+    /**
+     * Настройки шардирования.
+     */
+    private final ShardingProperties properties;
+    /**
+     * Последняя загруженная версия назначений.
+     */
+    private long loadedVersion;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    /**
+     * Загружает назначения, измененные после последней загрузки, и подтверждает загруженную версию.
+     */
+    @Scheduled(fixedDelayString = "${task-sharding.override-poll-interval:PT2S}",
+            initialDelayString = "${task-sharding.override-poll-interval:PT2S}")
+    public synchronized void refresh() {
+        JdbcTemplate jdbc = shardDataSources.jdbc(0);
+        List<Long> versions = jdbc.query(SELECT_CHANGED_SQL, (rs, rowNum) -> {
+            long id = rs.getLong("id");
+            String state = rs.getString("state");
+            if ("CANCELLED".equals(state)) {
+                shardRouter.removeOverride(id);
+            } else {
+                shardRouter.putOverride(new ShardOverride(id, rs.getLong("from_user_id"), rs.getLong("to_user_id"),
+                        rs.getInt("shard"), "ACTIVE".equals(state)));
+            }
+            return rs.getLong("version");
+        }, loadedVersion);
+        if (!versions.isEmpty()) {
+            loadedVersion = versions.get(versions.size() - 1);
+            log.info("Загружено изменений назначений диапазонов пользователей на шарды: {}, версия {}",
+                    versions.size(), loadedVersion);
+        }
+        jdbc.update(ACK_SQL, properties.getWorkerId(), loadedVersion);
+    }
+
+    /**
+     * Создает неактивное назначение: с этого момента записи задач диапазона отклоняются.
+     *
+     * @param fromUserId первый идентификатор пользователя включительно
+     * @param toUserId   последний идентификатор пользователя включительно
+     * @param shard      номер целевого шарда
+     * @return созданное назначение
+     */
+    public ShardOverride createPending(long fromUserId, long toUserId, int shard) {
+        Long id = shardDataSources.jdbc(0).queryForObject(
+                "INSERT INTO task_shard_overrides (from_user_id, to_user_id, shard, state) VALUES (?, ?, ?, 'PENDING')"
+                        + " RETURNING id",
+                Long.class, fromUserId, toUserId, shard);
+        refresh();
+        return new ShardOverride(id, fromUserId, toUserId, shard, false);
+    }
+
+    /**
+     * Активирует назначение после завершения переноса диапазона.
+     *
+     * @param id идентификатор назначения
+     */
+    public void activate(long id) {
+        changeState(id, "ACTIVE");
+    }
+
+    /**
+     * Отменяет незавершенное назначение: диапазон снова маршрутизируется как до переноса.
+     *
+     * @param id идентификатор назначения
+     */
+    public void cancel(long id) {
+        changeState(id, "CANCELLED");
+    }
+
+    /**
+     * Ожидает, пока все работающие реплики загрузят назначения в том виде, в каком их видит эта реплика.
+     * Работающими считаются реплики, подтверждавшие загрузку не раньше {@code task-sharding.replica-timeout}.
+     *
+     * @param timeout максимальное время ожидания
+     * @throws IllegalStateException если какая-то из реплик не загрузила назначения за отведенное время
+     */
+    public void awaitReplicas(Duration timeout) {
+        refresh();
+        long version = currentVersion();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            Long lagging = shardDataSources.jdbc(0).queryForObject(
+                    LAGGING_REPLICAS_SQL, Long.class, version, properties.getReplicaTimeout().toMillis());
+            if (lagging == null || lagging == 0) {
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(lagging + " replicas did not load shard override version " + version);
+            }
+            try {
+                Thread.sleep(properties.getOverridePollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for replicas", e);
+            }
+            refresh();
+        }
+    }
+
+    private synchronized long currentVersion() {
+        return loadedVersion;
+    }
+
+    /**
+     * Меняет состояние назначения, присваивая изменению новую версию, и сразу применяет его локально.
+     *
+     * @param id    идентификатор назначения
+     * @param state новое состояние
+     */
+    private void changeState(long id, String state) {
+        shardDataSources.jdbc(0).update(
+                "UPDATE task_shard_overrides SET state = ?, version = nextval('task_shard_override_version_seq')"
+                        + " WHERE id = ?",
+                state, id);
+        refresh();
+    }
+}
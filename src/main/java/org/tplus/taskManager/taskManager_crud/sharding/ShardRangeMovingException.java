@@ -0,0 +1,16 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+/**
+ * Выбрасывается при записи задачи пользователя, диапазон которого сейчас переносится на другой шард.
+ * Запрос можно повторить после завершения переноса.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ShardRangeMovingException extends RuntimeException {
+
+    public ShardRangeMovingException(Long userId) {
+        super("Tasks of user " + userId + " are being moved to another shard, retry later");
+    }
+}
@@ -0,0 +1,116 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.IntStream;
+
+/**
+ * Определяет шард для задачи по идентификатору пользователя или по идентификатору самой задачи.
+ * <p>
+ * Назначения диапазонов {@link ShardOverride} имеют приоритет над кольцом хеширования,
+ * более поздние назначения — над более ранними. Пользователь из диапазона, перенос которого
+ * не завершен, не получает шарда вовсе: запись его задач отклоняется.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ShardRouter {
+    /**
+     * Кольцо консистентного хеширования.
+     */
+    private final ConsistentHashRing ring;
+    /**
+     * Номера всех шардов.
+     */
+    private final List<Integer> shards;
+    /**
+     * Явные назначения диапазонов пользователей.
+     */
+    private final ConcurrentSkipListMap<Long, ShardOverride> overrides = new ConcurrentSkipListMap<>();
+
+    public ShardRouter(int shardCount, int virtualNodes) {
+        if (shardCount < 1 || shardCount > Snowflake.MAX_SHARDS) {
+            throw new IllegalArgumentException("shard count must be in [1, " + Snowflake.MAX_SHARDS + "]");
+        }
+        this.ring = new ConsistentHashRing(shardCount, virtualNodes);
+        this.shards = IntStream.range(0, shardCount).boxed().toList();
+    }
+
+    /**
+     * Определяет шард, на котором хранятся задачи пользователя.
+     *
+     * @param userId идентификатор пользователя, может быть {@code null}
+     * @return номер шарда
+     * @throws ShardRangeMovingException если задачи пользователя сейчас переносятся
+     */
+    public int shardForUser(Long userId) {
+        if (userId == null) {
+            return 0;
+        }
+        for (ShardOverride override : overrides.descendingMap().values()) {
+            if (override.contains(userId)) {
+                if (!override.active()) {
+                    throw new ShardRangeMovingException(userId);
+                }
+                return override.shard();
+            }
+        }
+        return ring.shardFor(userId);
+    }
+
+    /**
+     * Определяет шард, на котором хранились задачи пользователя до указанного назначения.
+     * Незавершенные назначения учитываются так же, как завершенные.
+     *
+     * @param userId     идентификатор пользователя
+     * @param overrideId идентификатор назначения, которое не нужно учитывать
+     * @return номер шарда
+     */
+    public int shardForUserExcluding(long userId, long overrideId) {
+        for (ShardOverride override : overrides.headMap(overrideId, false).descendingMap().values()) {
+            if (override.contains(userId)) {
+                return override.shard();
+            }
+        }
+        return ring.shardFor(userId);
+    }
+
+    /**
+     * Определяет шард, на котором задача была создана.
+     * <p>
+     * После перешардирования задача может находиться на другом шарде,
+     * поэтому при промахе вызывающий код должен опросить остальные шарды.
+     * </p>
+     *
+     * @param id идентификатор задачи
+     * @return номер шарда
+     */
+    public int shardForId(long id) {
+        int shard = Snowflake.shardOf(id);
+        return shard < shards.size() ? shard : 0;
+    }
+
+    /**
+     * Добавляет назначение диапазона пользователей на шард или заменяет его новой версией.
+     *
+     * @param override назначение
+     */
+    public void putOverride(ShardOverride override) {
+        overrides.put(override.id(), override);
+    }
+
+    /**
+     * Удаляет отмененное назначение.
+     *
+     * @param id идентификатор назначения
+     */
+    public void removeOverride(long id) {
+        overrides.remove(id);
+    }
+
+    public List<Integer> getShards() {
+        return shards;
+    }
+}
@@ -0,0 +1,255 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.tplus.taskManager.taskManager_crud.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.BaseStream;
+
+/**
+ * Аспект, направляющий вызовы репозиториев задач на нужный шард.
+ * <ul>
+ *     <li>сохранение задачи выполняется на шарде ее пользователя, {@code saveAll} группирует задачи по шардам;</li>
+ *     <li>методы по идентификатору выполняются на шарде создания задачи, а при промахе — на остальных шардах;
+ *     методы без результата, например {@code deleteById}, — только на шарде создания задачи;</li>
+ *     <li>все прочие методы выполняются параллельно на всех шардах, результаты объединяются.</li>
+ * </ul>
+ * <p>
+ * Объединяются коллекции, {@link Optional}, {@code boolean}, {@code int} и {@code long}. Результаты, которые
+ * нельзя корректно объединить, например {@link org.springframework.data.domain.Page} или {@link java.util.stream.Stream},
+ * с нескольких шардов не собираются: такой вызов завершается {@link UnsupportedOperationException}.
+ * </p>
+ * <p>
+ * Если шард уже выбран в {@link ShardContext}, вызов не перенаправляется.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ShardRoutingAspect implements DisposableBean {
+    /**
+     * Методы, первым аргументом которых является идентификатор задачи.
+     */
+    private static final Set<String> ID_METHODS = Set.of(
+            "findById", "findByIdForUpdate", "existsById", "deleteById", "findProjectedById", "deleteTaskById", "softDeleteTaskById",
+            "markOverdueFired", "resetOverdueFired", "markOverduePublished", "deleteOverdueEvent");
+    /**
+     * Методы сохранения одной сущности.
+     */
+    private static final Set<String> SAVE_METHODS = Set.of("save", "saveAndFlush");
+
+    /**
+     * Маршрутизатор шардов.
+     */
+    private final ShardRouter shardRouter;
+    /**
+     * Пул потоков для параллельных запросов к шардам.
+     */
+    private final ExecutorService executor;
+
+    public ShardRoutingAspect(ShardRouter shardRouter, int scatterThreads) {
+        this.shardRouter = shardRouter;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(scatterThreads, runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * Выбирает шард для вызова метода репозитория.
+     *
+     * @param joinPoint вызов метода репозитория
+     * @return результат вызова, объединенный по шардам при необходимости
+     * @throws Throwable исключение, выброшенное репозиторием
+     */
+    @Around("target(org.tplus.taskManager.taskManager_crud.repository.TaskRepository)"
+            + " || target(org.tplus.taskManager.taskManager_crud.repository.ArchivedTaskRepository)"
+            + " || target(org.tplus.taskManager.taskManager_crud.repository.TaskCommandRepository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContext.current() != null) {
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().getName();
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        Object[] args = joinPoint.getArgs();
+
+        if (SAVE_METHODS.contains(method) && args.length == 1 && args[0] instanceof Task task) {
+            return ShardContext.callOn(shardRouter.shardForUser(task.getUserId()), joinPoint::proceed);
+        }
+        if ("saveAll".equals(method) && args.length == 1 && args[0] instanceof Iterable<?> entities) {
+            return saveAll(joinPoint, entities);
+        }
+        if (ID_METHODS.contains(method) && args.length >= 1 && args[0] instanceof Long id) {
+            int home = shardRouter.shardForId(id);
+            Object result = ShardContext.callOn(home, joinPoint::proceed);
+            if (returnType == void.class || !isEmpty(result)) {
+                return result;
+            }
+            List<Integer> others = shardRouter.getShards().stream().filter(shard -> shard != home).toList();
+            return merge(returnType, scatter(joinPoint, others, shard -> args));
+        }
+        return merge(returnType, scatter(joinPoint, shardRouter.getShards(), shard -> args));
+    }
+
+    /**
+     * Сохраняет сущности, сгруппировав их по шардам.
+     *
+     * @param joinPoint вызов {@code saveAll}
+     * @param entities  сохраняемые сущности
+     * @return сохраненные сущности
+     * @throws Throwable исключение, выброшенное репозиторием
+     */
+    private Object saveAll(ProceedingJoinPoint joinPoint, Iterable<?> entities) throws Throwable {
+        Map<Integer, List<Object>> byShard = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            int shard = entity instanceof Task task ? shardRouter.shardForUser(task.getUserId()) : 0;
+            byShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(entity);
+        }
+        return merge(List.class, scatter(joinPoint, List.copyOf(byShard.keySet()),
+                shard -> new Object[]{byShard.get(shard)}));
+    }
+
+    /**
+     * Выполняет вызов на каждом из шардов параллельно.
+     *
+     * @param joinPoint    вызов метода репозитория
+     * @param shards       номера шардов
+     * @param argsForShard аргументы вызова для каждого шарда
+     * @return результаты по шардам в порядке {@code shards}
+     * @throws Throwable исключение, выброшенное репозиторием на любом из шардов
+     */
+    private List<Object> scatter(ProceedingJoinPoint joinPoint, List<Integer> shards,
+                                 IntFunction<Object[]> argsForShard) throws Throwable {
+        if (shards.size() == 1) {
+            int shard = shards.get(0);
+            return Collections.singletonList(ShardContext.callOn(shard, () -> joinPoint.proceed(argsForShard.apply(shard))));
+        }
+        List<Future<Object>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            futures.add(executor.submit(() -> invoke(joinPoint, shard, argsForShard.apply(shard))));
+        }
+        List<Object> results = new ArrayList<>(shards.size());
+        for (Future<Object> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Выполняет вызов на шарде в рабочем потоке пула.
+     *
+     * @param joinPoint вызов метода репозитория
+     * @param shard     номер шарда
+     * @param args      аргументы вызова
+     * @return результат вызова
+     * @throws Exception исключение, выброшенное репозиторием
+     */
+    private Object invoke(ProceedingJoinPoint joinPoint, int shard, Object[] args) throws Exception {
+        try {
+            return ShardContext.callOn(shard, () -> joinPoint.proceed(args));
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Объединяет результаты, полученные с разных шардов.
+     *
+     * @param returnType тип результата метода репозитория
+     * @param results    результаты по шардам
+     * @return объединенный результат
+     * @throws UnsupportedOperationException если результаты такого типа нельзя объединить
+     */
+    private Object merge(Class<?> returnType, List<Object> results) {
+        if (results.size() == 1) {
+            return results.get(0);
+        }
+        if (Slice.class.isAssignableFrom(returnType)
+                || BaseStream.class.isAssignableFrom(returnType)
+                || Map.class.isAssignableFrom(returnType)
+                || Iterator.class.isAssignableFrom(returnType)
+                || returnType.isArray()) {
+            throw new UnsupportedOperationException(
+                    "Results of type " + returnType.getName() + " cannot be merged across shards");
+        }
+        Object first = results.stream().filter(result -> result != null).findFirst().orElse(null);
+        if (first instanceof Collection<?>) {
+            List<Object> merged = new ArrayList<>();
+            for (Object result : results) {
+                if (result != null) {
+                    merged.addAll((Collection<?>) result);
+                }
+            }
+            return merged;
+        }
+        if (first instanceof Optional<?>) {
+            return results.stream()
+                    .filter(result -> result instanceof Optional<?> optional && optional.isPresent())
+                    .findFirst()
+                    .orElse(Optional.empty());
+        }
+        if (first instanceof Boolean) {
+            return results.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        if (first instanceof Integer) {
+            return results.stream().filter(result -> result != null).mapToInt(result -> (Integer) result).sum();
+        }
+        if (first instanceof Long) {
+            return results.stream().filter(result -> result != null).mapToLong(result -> (Long) result).sum();
+        }
+        return first;
+    }
+
+    /**
+     * Проверяет, означает ли результат отсутствие данных на шарде.
+     *
+     * @param result результат вызова
+     * @return {@code true} для {@code null}, пустых Optional и коллекций, {@code false} и нуля
+     */
+    private boolean isEmpty(Object result) {
+        return result == null
+                || result instanceof Optional<?> optional && optional.isEmpty()
+                || result instanceof Collection<?> collection && collection.isEmpty()
+                || Boolean.FALSE.equals(result)
+                || result instanceof Number number && number.longValue() == 0;
+    }
+}
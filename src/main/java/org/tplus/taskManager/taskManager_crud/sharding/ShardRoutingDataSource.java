@@ -0,0 +1,21 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Источник данных, выдающий соединения с базой шарда из {@link ShardContext}.
+ * <p>
+ * Если шард не выбран, используется шард 0: на нем же Hibernate проверяет схему при старте.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
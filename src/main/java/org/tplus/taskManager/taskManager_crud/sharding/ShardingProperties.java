@@ -0,0 +1,90 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Конфигурационные свойства шардирования задач по идентификатору пользователя.
+ * <p>
+ * Пример конфигурации в application.yml:
+ * <pre>
+ * task-sharding:
+ *   enabled: true
+ *   worker-id: 0
+ *   virtual-nodes: 128
+ *   shards:
+ *     - url: jdbc:postgresql://db-0:5432/t_plus_db
+ *       username: postgres
+ *       password: mypassword
+ *     - url: jdbc:postgresql://db-1:5432/t_plus_db
+ *       username: postgres
+ *       password: mypassword
+ * </pre>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@ConfigurationProperties(prefix = "task-sharding")
+public class ShardingProperties {
+
+    /**
+     * Включено ли шардирование. При {@code false} используется единственный spring.datasource.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Номер экземпляра приложения для генерации идентификаторов, уникальный среди реплик.
+     */
+    private int workerId = 0;
+
+    /**
+     * Количество виртуальных узлов каждого шарда на кольце хеширования.
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Количество потоков для параллельных запросов ко всем шардам.
+     */
+    private int scatterThreads = 16;
+
+    /**
+     * Размер пачки при переносе задач между шардами.
+     */
+    private int reshardBatchSize = 500;
+
+    /**
+     * Интервал опроса назначений диапазонов пользователей на шарды, измененных другими репликами.
+     */
+    private Duration overridePollInterval = Duration.ofSeconds(2);
+
+    /**
+     * Реплика, не подтверждавшая загрузку назначений дольше этого срока, считается остановленной.
+     */
+    private Duration replicaTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Сколько перешардирование ждет, пока новое назначение загрузят все работающие реплики.
+     */
+    private Duration overrideAckTimeout = Duration.ofMinutes(1);
+
+    /**
+     * Подключения к базам шардов; номер шарда — индекс в списке.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Параметры подключения к базе одного шарда.
+     */
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,107 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+/**
+ * Генератор глобально уникальных 64-битных идентификаторов в стиле Snowflake.
+ * <p>
+ * Структура идентификатора (от старших битов к младшим):
+ * 41 бит — миллисекунды от {@link #EPOCH}, 5 бит — шард, на котором создана запись,
+ * 7 бит — номер экземпляра приложения, 10 бит — порядковый номер в пределах миллисекунды.
+ * Шард создания позволяет направлять запросы по идентификатору сразу в нужную базу.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class Snowflake {
+    /**
+     * Начало отсчета времени: 2025-01-01T00:00:00Z.
+     */
+    public static final long EPOCH = 1735689600000L;
+
+    private static final int SEQUENCE_BITS = 10;
+    private static final int WORKER_BITS = 7;
+    private static final int SHARD_BITS = 5;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int WORKER_SHIFT = SEQUENCE_BITS;
+    private static final int SHARD_SHIFT = SEQUENCE_BITS + WORKER_BITS;
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + WORKER_BITS + SHARD_BITS;
+
+    /**
+     * Максимальное количество шардов, которое можно закодировать в идентификаторе.
+     */
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    /**
+     * Максимальное количество экземпляров приложения.
+     */
+    public static final int MAX_WORKERS = 1 << WORKER_BITS;
+
+    /**
+     * Номер экземпляра приложения.
+     */
+    private final long workerId;
+    /**
+     * Время выдачи последнего идентификатора, мс.
+     */
+    private long lastTimestamp = -1;
+    /**
+     * Порядковый номер в пределах миллисекунды.
+     */
+    private long sequence;
+
+    public Snowflake(int workerId) {
+        if (workerId < 0 || workerId >= MAX_WORKERS) {
+            throw new IllegalArgumentException("workerId must be in [0, " + MAX_WORKERS + ")");
+        }
+        this.workerId = workerId;
+    }
+
+    /**
+     * Выдает следующий идентификатор.
+     * <p>
+     * Если часы сдвинулись назад или порядковые номера в текущей миллисекунде исчерпаны,
+     * используется следующая миллисекунда после последней выданной.
+     * </p>
+     *
+     * @param shard шард, на котором создается запись
+     * @return новый идентификатор
+     */
+    public synchronized long nextId(int shard) {
+        long now = Math.max(System.currentTimeMillis(), lastTimestamp);
+        if (now == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                now = lastTimestamp + 1;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = now;
+        return ((now - EPOCH) << TIMESTAMP_SHIFT)
+                | ((long) shard << SHARD_SHIFT)
+                | (workerId << WORKER_SHIFT)
+                | sequence;
+    }
+
+    /**
+     * Извлекает из идентификатора шард, на котором была создана запись.
+     *
+     * @param id идентификатор
+     * @return номер шарда
+     */
+    public static int shardOf(long id) {
+        return (int) ((id >>> SHARD_SHIFT) & (MAX_SHARDS - 1));
+    }
+
+    /**
+     * Извлекает из идентификатора момент его выдачи.
+     *
+     * @param id идентификатор
+     * @return время в миллисекундах Unix
+     */
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+    }
+}
@@ -0,0 +1,41 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.tplus.taskManager.taskManager_crud.model.Task;
+
+/**
+ * Передает генератору идентификаторов {@link SnowflakeIdGenerator} номер экземпляра приложения
+ * и, в режиме шардирования, способ определения шарда задачи.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+@RequiredArgsConstructor
+public class SnowflakeIdConfigurer {
+    /**
+     * Маршрутизатор шардов, существует только в режиме шардирования.
+     */
+    private final ObjectProvider<ShardRouter> shardRouter;
+    /**
+     * Номер экземпляра приложения, уникальный среди реплик.
+     */
+    @Value("${task-sharding.worker-id:0}")
+    private int workerId;
+
+    /**
+     * Настраивает генератор идентификаторов.
+     */
+    @PostConstruct
+    public void configure() {
+        ShardRouter router = shardRouter.getIfAvailable();
+        SnowflakeIdGenerator.configure(new Snowflake(workerId), router == null
+                ? entity -> 0
+                : entity -> entity instanceof Task task ? router.shardForUser(task.getUserId()) : 0);
+    }
+}
@@ -0,0 +1,81 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.tplus.taskManager.taskManager_crud.model.SnowflakeId;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.function.ToIntFunction;
+
+/**
+ * Генератор идентификаторов Hibernate для полей, помеченных {@link SnowflakeId}.
+ * <p>
+ * Экземпляры создаются самим Hibernate, поэтому номер экземпляра приложения и способ определения
+ * шарда для сущности задаются статически через {@link #configure(Snowflake, ToIntFunction)}
+ * при старте контекста Spring.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SnowflakeIdGenerator implements BeforeExecutionGenerator {
+    /**
+     * Общий генератор идентификаторов.
+     */
+    private static volatile Snowflake snowflake = new Snowflake(0);
+    /**
+     * Определяет шард, на котором будет сохранена сущность.
+     */
+    private static volatile ToIntFunction<Object> shardResolver = entity -> 0;
+
+    public SnowflakeIdGenerator() {
+    }
+
+    public SnowflakeIdGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+    }
+
+    /**
+     * Настраивает генерацию идентификаторов.
+     *
+     * @param generator генератор с номером текущего экземпляра приложения
+     * @param resolver  функция, возвращающая шард для сохраняемой сущности
+     */
+    public static void configure(Snowflake generator, ToIntFunction<Object> resolver) {
+        snowflake = generator;
+        shardResolver = resolver;
+    }
+
+    /**
+     * Выдает следующий идентификатор для произвольной записи, не привязанной к шарду.
+     *
+     * @return новый идентификатор
+     */
+    public static long nextId() {
+        return snowflake.nextId(0);
+    }
+
+    /**
+     * Выдает следующий идентификатор для записи, которая будет сохранена на указанном шарде.
+     *
+     * @param shard номер шарда
+     * @return новый идентификатор
+     */
+    public static long nextId(int shard) {
+        return snowflake.nextId(shard);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return snowflake.nextId(shardResolver.applyAsInt(owner));
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EnumSet.of(EventType.INSERT);
+    }
+}
@@ -0,0 +1,22 @@
+package org.tplus.taskManager.taskManager_crud.stream;
+
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatusUpdateDto;
+
+/**
+ * Событие потока изменений задач с положением в Kafka-топике.
+ * <p>
+ * Идентификатор события SSE — позиция чтения топика после этого события: последний прочитанный offset
+ * каждой партиции. Он одинаков на всех экземплярах приложения, поэтому клиент может переподключиться
+ * к любому из них.
+ * </p>
+ *
+ * @param id        идентификатор события SSE, см. {@link TaskStreamPosition}
+ * @param partition партиция Kafka-сообщения
+ * @param offset    offset Kafka-сообщения
+ * @param update    изменение статуса задачи
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public record TaskStreamEvent(String id, int partition, long offset, TaskStatusUpdateDto update) {
+}
@@ -0,0 +1,86 @@
+package org.tplus.taskManager.taskManager_crud.stream;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Позиция чтения Kafka-топика изменений статуса: последний прочитанный offset каждой партиции.
+ * <p>
+ * В виде строки {@code партиция:offset} через запятую, например {@code 0:1520,1:987}, позиция служит
+ * идентификатором события SSE и возвращается клиентом в заголовке Last-Event-ID.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class TaskStreamPosition {
+    /**
+     * Последний offset по номерам партиций.
+     */
+    private final Map<Integer, Long> offsets;
+
+    private TaskStreamPosition(Map<Integer, Long> offsets) {
+        this.offsets = offsets;
+    }
+
+    /**
+     * Создает пустую позицию.
+     *
+     * @return позиция без прочитанных сообщений
+     */
+    public static TaskStreamPosition empty() {
+        return new TaskStreamPosition(new TreeMap<>());
+    }
+
+    /**
+     * Разбирает позицию из заголовка Last-Event-ID.
+     *
+     * @param value значение заголовка
+     * @return позиция
+     * @throws IllegalArgumentException если значение не является позицией
+     */
+    public static TaskStreamPosition parse(String value) {
+        Map<Integer, Long> offsets = new TreeMap<>();
+        for (String part : value.split(",")) {
+            int separator = part.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid stream position: " + value);
+            }
+            offsets.put(Integer.parseInt(part.substring(0, separator).trim()),
+                    Long.parseLong(part.substring(separator + 1).trim()));
+        }
+        return new TaskStreamPosition(Collections.unmodifiableMap(offsets));
+    }
+
+    /**
+     * Сдвигает позицию на прочитанное сообщение.
+     *
+     * @param partition партиция сообщения
+     * @param offset    offset сообщения
+     */
+    public void advance(int partition, long offset) {
+        offsets.merge(partition, offset, Math::max);
+    }
+
+    /**
+     * Проверяет, было ли сообщение прочитано к этой позиции.
+     *
+     * @param partition партиция сообщения
+     * @param offset    offset сообщения
+     * @return {@code true}, если offset сообщения не больше последнего прочитанного в его партиции
+     */
+    public boolean covers(int partition, long offset) {
+        Long last = offsets.get(partition);
+        return last != null && offset <= last;
+    }
+
+    @Override
+    public String toString() {
+        return offsets.entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+}
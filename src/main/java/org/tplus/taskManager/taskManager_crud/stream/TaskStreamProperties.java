@@ -0,0 +1,76 @@
+package org.tplus.taskManager.taskManager_crud.stream;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Конфигурационные свойства потока событий об изменении задач {@code GET /tasks/stream}.
+ * <p>
+ * Пример конфигурации в application.yml:
+ * <pre>
+ * task-stream:
+ *   buffer-size: 256
+ *   slow-client-policy: DROP_OLDEST
+ *   replay-capacity: 10000
+ * </pre>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@ConfigurationProperties(prefix = "task-stream")
+public class TaskStreamProperties {
+
+    /**
+     * Поведение при переполнении буфера медленного клиента.
+     */
+    public enum SlowClientPolicy {
+        /**
+         * Отбросить самое старое неотправленное событие.
+         */
+        DROP_OLDEST,
+        /**
+         * Закрыть соединение: клиент переподключится с Last-Event-ID и получит пропущенное из истории.
+         */
+        DISCONNECT
+    }
+
+    /**
+     * Размер буфера неотправленных событий одного подключения.
+     */
+    private int bufferSize = 256;
+
+    /**
+     * Поведение при переполнении буфера.
+     */
+    private SlowClientPolicy slowClientPolicy = SlowClientPolicy.DROP_OLDEST;
+
+    /**
+     * Количество последних событий, хранимых для возобновления по Last-Event-ID.
+     */
+    private int replayCapacity = 10_000;
+
+    /**
+     * Количество потоков, отправляющих события клиентам.
+     */
+    private int senderThreads = 4;
+
+    /**
+     * Максимальная длительность одной записи в соединение. Клиент, не принимающий данные дольше,
+     * отключается, а занятый им поток отправки освобождается.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Интервал отправки комментария-пинга для поддержания соединения и обнаружения отключившихся клиентов.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Максимальная длительность одного подключения, после которой клиент переподключается.
+     */
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,315 @@
+package org.tplus.taskManager.taskManager_crud.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatusUpdateDto;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Сервис раздачи изменений задач подключенным SSE-клиентам.
+ * <p>
+ * Все подключения экземпляра обслуживаются одной подпиской на Kafka: каждое событие получает
+ * идентификатор из позиции чтения топика ({@link TaskStreamPosition}), сохраняется в кольцевом буфере
+ * истории и раскладывается по буферам подходящих подключений без блокировки. Отправкой занимается
+ * отдельный небольшой пул потоков, поэтому медленный клиент не задерживает ни консьюмер, ни остальных
+ * клиентов: при переполнении его буфера применяется {@link TaskStreamProperties.SlowClientPolicy}.
+ * Запись в одно соединение занимает не больше одного потока пула, а клиент, не принявший запись
+ * за {@code task-stream.send-timeout}, отключается, и поток освобождается.
+ * </p>
+ * <p>
+ * Клиент, переподключившийся с заголовком Last-Event-ID к любому экземпляру, получает пропущенные события
+ * из его истории, если они еще не вытеснены из кольцевого буфера.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Slf4j
+@Service
+public class TaskStreamService implements DisposableBean {
+    /**
+     * Имя SSE-события об изменении статуса задачи.
+     */
+    public static final String EVENT_NAME = "task-status";
+
+    /**
+     * Настройки потока.
+     */
+    private final TaskStreamProperties properties;
+    /**
+     * Активные подключения.
+     */
+    private final Set<TaskStreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    /**
+     * Пул потоков, отправляющих события клиентам.
+     */
+    private final ExecutorService sender;
+    /**
+     * Кольцевой буфер последних событий для возобновления по Last-Event-ID.
+     */
+    private final TaskStreamEvent[] history;
+    /**
+     * Количество опубликованных событий, индекс следующей ячейки истории. Изменяется только под блокировкой
+     * {@code history}.
+     */
+    private long published;
+    /**
+     * Позиция чтения топика после последнего опубликованного события. Изменяется только под блокировкой
+     * {@code history}.
+     */
+    private final TaskStreamPosition position = TaskStreamPosition.empty();
+    /**
+     * Количество событий, отброшенных из-за переполнения буферов клиентов.
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    public TaskStreamService(TaskStreamProperties properties) {
+        this.properties = properties;
+        this.history = new TaskStreamEvent[Math.max(1, properties.getReplayCapacity())];
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(properties.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "task-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Подключает клиента к потоку изменений.
+     *
+     * @param userId      фильтр по пользователю, {@code null} — все пользователи
+     * @param status      фильтр по статусу, {@code null} — все статусы
+     * @param lastEventId идентификатор последнего полученного клиентом события, {@code null} — без возобновления
+     * @return SSE-соединение
+     */
+    public SseEmitter subscribe(Long userId, TaskStatus status, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        TaskStreamSubscriber subscriber = new TaskStreamSubscriber(emitter, userId, status, properties.getBufferSize());
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+
+        synchronized (history) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        scheduleDrain(subscriber);
+        log.debug("Подключен клиент потока задач: userId={}, status={}, lastEventId={}, всего подключений: {}",
+                userId, status, lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Публикует изменение задачи всем подходящим подключениям. Не блокируется на медленных клиентах.
+     *
+     * @param partition партиция Kafka-сообщения
+     * @param offset    offset Kafka-сообщения
+     * @param update    изменение статуса задачи
+     */
+    public void publish(int partition, long offset, TaskStatusUpdateDto update) {
+        synchronized (history) {
+            position.advance(partition, offset);
+            TaskStreamEvent event = new TaskStreamEvent(position.toString(), partition, offset, update);
+            history[(int) (published % history.length)] = event;
+            published++;
+            for (TaskStreamSubscriber subscriber : subscribers) {
+                if (subscriber.matches(update)) {
+                    enqueue(subscriber, event);
+                }
+            }
+        }
+        for (TaskStreamSubscriber subscriber : subscribers) {
+            if (!subscriber.getBuffer().isEmpty()) {
+                scheduleDrain(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Отправляет комментарий-пинг всем подключениям, чтобы прокси не закрывали простаивающие соединения,
+     * а отключившиеся клиенты обнаруживались без ожидания следующего события.
+     */
+    @Scheduled(fixedDelayString = "${task-stream.heartbeat-interval:PT15S}",
+            initialDelayString = "${task-stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (TaskStreamSubscriber subscriber : subscribers) {
+            // занятому отправкой подключению пинг не нужен, а второй поток на него не выделяется
+            if (subscriber.getClosed().get() || !subscriber.getDraining().compareAndSet(false, true)) {
+                continue;
+            }
+            execute(subscriber, () -> {
+                try {
+                    send(subscriber, SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException e) {
+                    close(subscriber);
+                } finally {
+                    subscriber.getDraining().set(false);
+                }
+                if (!subscriber.getBuffer().isEmpty()) {
+                    scheduleDrain(subscriber);
+                }
+            });
+        }
+    }
+
+    /**
+     * Отключает клиентов, запись в соединение которых выполняется дольше {@code task-stream.send-timeout},
+     * и прерывает занятые ими потоки отправки.
+     */
+    @Scheduled(fixedDelayString = "${task-stream.send-timeout:PT10S}",
+            initialDelayString = "${task-stream.send-timeout:PT10S}")
+    public void closeStalled() {
+        long timeoutNanos = properties.getSendTimeout().toNanos();
+        for (TaskStreamSubscriber subscriber : subscribers) {
+            if (subscriber.interruptStalledSend(timeoutNanos)) {
+                log.debug("Клиент потока задач не принимает данные дольше {}, отключается", properties.getSendTimeout());
+                dropped.addAndGet(subscriber.getBuffer().size());
+                close(subscriber);
+            }
+        }
+    }
+
+    /**
+     * @return количество активных подключений
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * @return количество событий, отброшенных из-за переполнения буферов клиентов
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.getEmitter().complete());
+        subscribers.clear();
+        sender.shutdownNow();
+    }
+
+    /**
+     * Кладет в буфер подключения события из истории, прочитанные после позиции {@code lastEventId}.
+     * Вызывается под блокировкой {@code history}.
+     */
+    private void replay(TaskStreamSubscriber subscriber, String lastEventId) {
+        TaskStreamPosition resumeFrom;
+        try {
+            resumeFrom = TaskStreamPosition.parse(lastEventId);
+        } catch (IllegalArgumentException e) {
+            log.debug("Клиент потока задач передал неизвестный Last-Event-ID {}, возобновление пропущено", lastEventId);
+            return;
+        }
+        long from = Math.max(0, published - history.length);
+        TaskStreamEvent oldest = history[(int) (from % history.length)];
+        if (from > 0 && oldest != null && !resumeFrom.covers(oldest.partition(), oldest.offset() - 1)) {
+            log.debug("История потока задач вытеснена: клиент с позиции {} мог пропустить события", lastEventId);
+        }
+        for (long index = from; index < published; index++) {
+            TaskStreamEvent event = history[(int) (index % history.length)];
+            if (!resumeFrom.covers(event.partition(), event.offset()) && subscriber.matches(event.update())) {
+                enqueue(subscriber, event);
+            }
+        }
+    }
+
+    /**
+     * Кладет событие в буфер подключения, применяя политику переполнения.
+     */
+    private void enqueue(TaskStreamSubscriber subscriber, TaskStreamEvent event) {
+        if (subscriber.getBuffer().offer(event)) {
+            return;
+        }
+        dropped.incrementAndGet();
+        if (properties.getSlowClientPolicy() == TaskStreamProperties.SlowClientPolicy.DISCONNECT) {
+            close(subscriber);
+            return;
+        }
+        subscriber.getBuffer().poll();
+        subscriber.getBuffer().offer(event);
+    }
+
+    /**
+     * Запускает отправку буфера подключения, если она еще не выполняется.
+     */
+    private void scheduleDrain(TaskStreamSubscriber subscriber) {
+        if (!subscriber.getClosed().get() && subscriber.getDraining().compareAndSet(false, true)) {
+            execute(subscriber, () -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Отправляет клиенту все события из его буфера.
+     */
+    private void drain(TaskStreamSubscriber subscriber) {
+        try {
+            TaskStreamEvent event;
+            while (!subscriber.getClosed().get() && (event = subscriber.getBuffer().poll()) != null) {
+                send(subscriber, SseEmitter.event()
+                        .id(event.id())
+                        .name(EVENT_NAME)
+                        .data(event.update()));
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Клиент потока задач отключился: {}", e.getMessage());
+            close(subscriber);
+        } finally {
+            subscriber.getDraining().set(false);
+        }
+        if (!subscriber.getBuffer().isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * Записывает событие в соединение, отмечая запись для {@link #closeStalled()}.
+     */
+    private void send(TaskStreamSubscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.beginSend();
+        try {
+            subscriber.getEmitter().send(event);
+        } finally {
+            subscriber.endSend();
+        }
+    }
+
+    /**
+     * Передает задачу пулу отправки; если пул остановлен, закрывает подключение.
+     */
+    private void execute(TaskStreamSubscriber subscriber, Runnable task) {
+        try {
+            sender.execute(task);
+        } catch (RejectedExecutionException e) {
+            subscriber.getDraining().set(false);
+            close(subscriber);
+        }
+    }
+
+    /**
+     * Отключает клиента и освобождает его буфер.
+     */
+    private void close(TaskStreamSubscriber subscriber) {
+        if (subscriber.getClosed().compareAndSet(false, true)) {
+            subscribers.remove(subscriber);
+            subscriber.getBuffer().clear();
+            subscriber.getEmitter().complete();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.tplus.taskManager.taskManager_crud.stream;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatusUpdateDto;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Подключение клиента к потоку изменений задач с фильтром и ограниченным буфером неотправленных событий.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Getter
+public class TaskStreamSubscriber {
+    /**
+     * SSE-соединение клиента.
+     */
+    private final SseEmitter emitter;
+    /**
+     * Фильтр по пользователю, {@code null} — все пользователи.
+     */
+    private final Long userId;
+    /**
+     * Фильтр по статусу, {@code null} — все статусы.
+     */
+    private final TaskStatus status;
+    /**
+     * Буфер событий, ожидающих отправки.
+     */
+    private final ArrayBlockingQueue<TaskStreamEvent> buffer;
+    /**
+     * Выполняется ли сейчас отправка буфера.
+     */
+    private final AtomicBoolean draining = new AtomicBoolean();
+    /**
+     * Закрыто ли подключение.
+     */
+    private final AtomicBoolean closed = new AtomicBoolean();
+    /**
+     * Поток, выполняющий текущую запись в соединение, и момент ее начала по {@link System#nanoTime()}.
+     * Изменяются под блокировкой подключения.
+     */
+    @Getter(AccessLevel.NONE)
+    private Thread sendingThread;
+    @Getter(AccessLevel.NONE)
+    private long sendStartedAt;
+
+    public TaskStreamSubscriber(SseEmitter emitter, Long userId, TaskStatus status, int bufferSize) {
+        this.emitter = emitter;
+        this.userId = userId;
+        this.status = status;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    /**
+     * Проверяет, подходит ли изменение под фильтр подключения.
+     *
+     * @param update изменение статуса задачи
+     * @return {@code true}, если событие нужно отправить клиенту
+     */
+    public boolean matches(TaskStatusUpdateDto update) {
+        return (userId == null || Objects.equals(userId, update.getUserId()))
+                && (status == null || status == update.getStatus());
+    }
+
+    /**
+     * Отмечает начало записи в соединение текущим потоком.
+     */
+    public synchronized void beginSend() {
+        sendingThread = Thread.currentThread();
+        sendStartedAt = System.nanoTime();
+    }
+
+    /**
+     * Отмечает окончание записи в соединение.
+     */
+    public synchronized void endSend() {
+        sendingThread = null;
+    }
+
+    /**
+     * Прерывает запись, выполняющуюся дольше {@code timeoutNanos}: поток пула отправки освобождается,
+     * если запись в соединение реагирует на прерывание.
+     *
+     * @param timeoutNanos допустимая длительность одной записи
+     * @return {@code true}, если запись зависла
+     */
+    public synchronized boolean interruptStalledSend(long timeoutNanos) {
+        if (sendingThread == null || System.nanoTime() - sendStartedAt < timeoutNanos) {
+            return false;
+        }
+        sendingThread.interrupt();
+        return true;
+    }
+}
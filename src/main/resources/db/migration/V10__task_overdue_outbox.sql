@@ -0,0 +1,16 @@
+-- Исходящие события о просрочке задач. Строка вставляется тем же оператором, что ставит отметку
+-- overdue_fired_at, и удаляется только после подтверждения Kafka и отправки письма.
+CREATE TABLE task_overdue_outbox
+(
+    task_id       BIGINT PRIMARY KEY,
+    user_id       BIGINT,
+    due_date      TIMESTAMPTZ NOT NULL,
+    -- событие подтверждено Kafka, осталось отправить письмо
+    published_at  TIMESTAMPTZ,
+    attempts      INT         NOT NULL DEFAULT 0,
+    -- до этого момента событие обрабатывает реплика, захватившая его
+    claimed_until TIMESTAMPTZ NOT NULL DEFAULT '-infinity',
+    created_at    TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX task_overdue_outbox_claimed_until_idx ON task_overdue_outbox (claimed_until);
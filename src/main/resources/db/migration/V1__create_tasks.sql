@@ -0,0 +1,10 @@
+-- Исходная схема таблицы задач в том виде, в котором её создавал hibernate ddl-auto: update.
+-- На уже существующих базах эта миграция не выполняется (baseline-version = 1).
+CREATE TABLE IF NOT EXISTS tasks
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    user_id     BIGINT,
+    status      VARCHAR(255) CHECK (status IN ('NEW', 'IN_PROGRESS', 'COMPLETED', 'CANCELED'))
+);
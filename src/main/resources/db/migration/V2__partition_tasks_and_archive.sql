@@ -0,0 +1,66 @@
+-- Перевод таблицы задач на декларативное партиционирование по статусу
+-- и создание архивной таблицы для завершённых задач.
+
+ALTER TABLE tasks RENAME TO tasks_legacy;
+
+-- Первичный ключ партиционированной таблицы обязан содержать ключ партиционирования,
+-- поэтому он составной (id, status), а статус обязателен. Уникальность одного id база
+-- не гарантирует: идентификаторы выдает приложение (SnowflakeIdGenerator), смена статуса
+-- переносит строку между партициями, а не копирует ее, а вставка с уже существующим
+-- идентификатором (перешардирование) сама проверяет отсутствие задачи в любом статусе.
+-- Унаследованные идентификаторы IDENTITY намного меньше выдаваемых генератором и с ними не пересекаются.
+CREATE TABLE tasks
+(
+    id          BIGINT       NOT NULL,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    user_id     BIGINT,
+    status      VARCHAR(255) NOT NULL DEFAULT 'NEW',
+    updated_at  TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    CONSTRAINT tasks_pkey PRIMARY KEY (id, status)
+) PARTITION BY LIST (status);
+
+-- Горячая партиция: задачи, с которыми ещё работают.
+CREATE TABLE tasks_active PARTITION OF tasks FOR VALUES IN ('NEW', 'IN_PROGRESS');
+-- Холодная партиция: завершённые и отменённые задачи, кандидаты на архивацию.
+CREATE TABLE tasks_finished PARTITION OF tasks FOR VALUES IN ('COMPLETED', 'CANCELED');
+-- Любые будущие значения статуса.
+CREATE TABLE tasks_default PARTITION OF tasks DEFAULT;
+
+CREATE INDEX tasks_id_idx ON tasks (id);
+CREATE INDEX tasks_finished_updated_at_idx ON tasks_finished (updated_at);
+
+INSERT INTO tasks (id, title, description, user_id, status)
+SELECT id, title, description, user_id, COALESCE(status, 'NEW')
+FROM tasks_legacy;
+
+DROP TABLE tasks_legacy;
+
+-- updated_at не отображается в сущность Task и поддерживается самой базой:
+-- по нему архивация отбирает задачи, завершённые достаточно давно.
+CREATE FUNCTION tasks_touch_updated_at() RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.updated_at := now();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tasks_touch_updated_at
+    BEFORE UPDATE
+    ON tasks
+    FOR EACH ROW
+EXECUTE FUNCTION tasks_touch_updated_at();
+
+CREATE TABLE tasks_archive
+(
+    id          BIGINT PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    user_id     BIGINT,
+    status      VARCHAR(255),
+    updated_at  TIMESTAMPTZ NOT NULL,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX tasks_archive_user_id_idx ON tasks_archive (user_id);
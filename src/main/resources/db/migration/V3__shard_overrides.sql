@@ -0,0 +1,10 @@
+-- Назначения диапазонов пользователей на шарды, созданные перешардированием.
+-- Используется только таблица на шарде 0.
+CREATE TABLE task_shard_overrides
+(
+    id           BIGSERIAL PRIMARY KEY,
+    from_user_id BIGINT      NOT NULL,
+    to_user_id   BIGINT      NOT NULL,
+    shard        INTEGER     NOT NULL,
+    created_at   TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,26 @@
+-- Журнал смен статуса задач (только добавление) и ежедневные агрегаты по нему.
+
+CREATE TABLE task_status_history
+(
+    id          BIGSERIAL PRIMARY KEY,
+    task_id     BIGINT      NOT NULL,
+    user_id     BIGINT,
+    from_status VARCHAR(255),
+    to_status   VARCHAR(255),
+    changed_at  TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX task_status_history_task_id_idx ON task_status_history (task_id, changed_at DESC);
+
+-- Агрегаты поддерживаются инкрементально при каждой смене статуса.
+-- Время в статусе относится к дню выхода из него; user_id = 0 — задачи без пользователя.
+CREATE TABLE task_status_daily_rollup
+(
+    user_id           BIGINT       NOT NULL,
+    day               DATE         NOT NULL,
+    status            VARCHAR(255) NOT NULL,
+    entered_count     BIGINT       NOT NULL DEFAULT 0,
+    exited_count      BIGINT       NOT NULL DEFAULT 0,
+    total_duration_ms BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, day, status)
+);
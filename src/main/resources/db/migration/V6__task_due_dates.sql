@@ -0,0 +1,9 @@
+-- Сроки выполнения задач и отметка об отправленном событии просрочки.
+ALTER TABLE tasks ADD COLUMN due_date TIMESTAMPTZ;
+ALTER TABLE tasks ADD COLUMN overdue_fired_at TIMESTAMPTZ;
+
+-- Загрузка ближайших сроков читает только задачи, по которым событие еще не отправлено.
+CREATE INDEX tasks_due_date_pending_idx ON tasks (due_date)
+    WHERE due_date IS NOT NULL AND overdue_fired_at IS NULL AND deleted_at IS NULL;
+
+ALTER TABLE tasks_archive ADD COLUMN due_date TIMESTAMPTZ;
@@ -0,0 +1,13 @@
+-- Результаты асинхронных команд записи задач. Строка появляется только после применения команды:
+-- команда без строки, выданная недавно, считается ожидающей.
+CREATE TABLE task_commands
+(
+    id           BIGINT PRIMARY KEY,
+    type         VARCHAR(16) NOT NULL,
+    task_id      BIGINT,
+    status       VARCHAR(16) NOT NULL,
+    error        TEXT,
+    completed_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX task_commands_completed_at_idx ON task_commands (completed_at);
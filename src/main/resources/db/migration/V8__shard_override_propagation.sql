@@ -0,0 +1,21 @@
+-- Распространение назначений диапазонов между репликами.
+-- Назначение создается в состоянии PENDING: реплики, получившие его, перестают принимать записи диапазона;
+-- после переноса оно становится ACTIVE, при отмене — CANCELLED. Каждое изменение получает новую версию,
+-- реплики опрашивают таблицу по версии и подтверждают последнюю загруженную в task_shard_override_acks.
+-- Используются только таблицы на шарде 0.
+CREATE SEQUENCE task_shard_override_version_seq;
+
+ALTER TABLE task_shard_overrides ADD COLUMN state VARCHAR(16) NOT NULL DEFAULT 'ACTIVE';
+ALTER TABLE task_shard_overrides ADD COLUMN version BIGINT;
+UPDATE task_shard_overrides SET version = nextval('task_shard_override_version_seq');
+ALTER TABLE task_shard_overrides ALTER COLUMN version SET NOT NULL;
+ALTER TABLE task_shard_overrides ALTER COLUMN version SET DEFAULT nextval('task_shard_override_version_seq');
+
+CREATE INDEX task_shard_overrides_version_idx ON task_shard_overrides (version);
+
+CREATE TABLE task_shard_override_acks
+(
+    worker_id INTEGER PRIMARY KEY,
+    version   BIGINT      NOT NULL,
+    seen_at   TIMESTAMPTZ NOT NULL
+);
@@ -0,0 +1,46 @@
+-- Ограждение диапазона пользователей на исходном шарде на время завершения переноса.
+-- Пока диапазон заморожен, любые вставки, изменения и удаления его задач отклоняются
+-- с кодом lock_not_available, кроме операций самого перешардирования (task.resharding = 'on').
+CREATE TABLE task_frozen_ranges
+(
+    override_id  BIGINT PRIMARY KEY,
+    from_user_id BIGINT NOT NULL,
+    to_user_id   BIGINT NOT NULL
+);
+
+CREATE FUNCTION tasks_reject_frozen_range() RETURNS TRIGGER AS
+$$
+DECLARE
+    affected BIGINT;
+BEGIN
+    IF current_setting('task.resharding', true) = 'on' THEN
+        IF TG_OP = 'DELETE' THEN
+            RETURN OLD;
+        END IF;
+        RETURN NEW;
+    END IF;
+
+    IF TG_OP = 'DELETE' THEN
+        affected := OLD.user_id;
+    ELSE
+        affected := NEW.user_id;
+    END IF;
+    IF EXISTS (SELECT 1 FROM task_frozen_ranges WHERE affected BETWEEN from_user_id AND to_user_id)
+        OR (TG_OP = 'UPDATE' AND EXISTS (SELECT 1 FROM task_frozen_ranges
+                                          WHERE OLD.user_id BETWEEN from_user_id AND to_user_id)) THEN
+        RAISE EXCEPTION 'tasks of user % are being moved to another shard', affected
+            USING ERRCODE = 'lock_not_available';
+    END IF;
+
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tasks_reject_frozen_range
+    BEFORE INSERT OR UPDATE OR DELETE
+    ON tasks
+    FOR EACH ROW
+EXECUTE FUNCTION tasks_reject_frozen_range();
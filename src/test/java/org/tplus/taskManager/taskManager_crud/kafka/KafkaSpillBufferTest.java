@@ -0,0 +1,98 @@
+package org.tplus.taskManager.taskManager_crud.kafka;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.tplus.taskManager.taskManager_crud.kafka.KafkaSpillBuffer.SpilledMessage;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты буфера неотправленных сообщений {@link KafkaSpillBuffer}.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class KafkaSpillBufferTest {
+
+    private static final String TOPIC = "topic";
+
+    @Test
+    void keyStaysPendingUntilReleased() {
+        KafkaSpillBuffer buffer = new KafkaSpillBuffer(10);
+        buffer.add(TOPIC, "1", "payload", new RecordHeaders());
+        assertThat(buffer.hasPending(TOPIC, "1")).isTrue();
+        assertThat(buffer.hasPending(TOPIC, "2")).isFalse();
+        assertThat(buffer.hasPending("other", "1")).isFalse();
+
+        List<SpilledMessage> polled = buffer.poll(10);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.hasPending(TOPIC, "1")).isTrue();
+
+        buffer.release(polled.get(0));
+        assertThat(buffer.hasPending(TOPIC, "1")).isFalse();
+    }
+
+    @Test
+    void messagesWithoutKeyNeverBlockOthers() {
+        KafkaSpillBuffer buffer = new KafkaSpillBuffer(10);
+        buffer.add(TOPIC, null, "payload", new RecordHeaders());
+
+        assertThat(buffer.hasPending(TOPIC, null)).isFalse();
+        assertThat(buffer.size()).isEqualTo(1);
+    }
+
+    @Test
+    void requeuedMessageIsSentBeforeLaterOnes() {
+        KafkaSpillBuffer buffer = new KafkaSpillBuffer(10);
+        buffer.add(TOPIC, "1", "first", new RecordHeaders());
+        SpilledMessage first = buffer.poll(1).get(0);
+        buffer.add(TOPIC, "1", "second", new RecordHeaders());
+
+        buffer.requeue(first);
+
+        assertThat(buffer.poll(10)).extracting(SpilledMessage::payload).containsExactly("first", "second");
+    }
+
+    @Test
+    void pollsOneMessagePerKeyUntilItIsReleased() {
+        KafkaSpillBuffer buffer = new KafkaSpillBuffer(10);
+        buffer.add(TOPIC, "1", "first", new RecordHeaders());
+        buffer.add(TOPIC, "1", "second", new RecordHeaders());
+        buffer.add(TOPIC, "2", "other", new RecordHeaders());
+
+        List<SpilledMessage> polled = buffer.poll(10);
+        assertThat(polled).extracting(SpilledMessage::payload).containsExactly("first", "other");
+        assertThat(buffer.poll(10)).isEmpty();
+
+        buffer.release(polled.get(0));
+        assertThat(buffer.poll(10)).extracting(SpilledMessage::payload).containsExactly("second");
+    }
+
+    @Test
+    void requeuedMessagesReturnToTheirOriginalPlaces() {
+        KafkaSpillBuffer buffer = new KafkaSpillBuffer(10);
+        buffer.add(TOPIC, "1", "first", new RecordHeaders());
+        buffer.add(TOPIC, "2", "second", new RecordHeaders());
+        buffer.add(TOPIC, null, "third", new RecordHeaders());
+        List<SpilledMessage> polled = buffer.poll(2);
+
+        buffer.requeue(polled.get(1));
+        buffer.requeue(polled.get(0));
+
+        assertThat(buffer.poll(10)).extracting(SpilledMessage::payload).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void evictedMessageReleasesItsKey() {
+        KafkaSpillBuffer buffer = new KafkaSpillBuffer(1);
+        buffer.add(TOPIC, "1", "first", new RecordHeaders());
+        buffer.add(TOPIC, "2", "second", new RecordHeaders());
+
+        assertThat(buffer.getDropped()).isEqualTo(1);
+        assertThat(buffer.hasPending(TOPIC, "1")).isFalse();
+        assertThat(buffer.hasPending(TOPIC, "2")).isTrue();
+    }
+}
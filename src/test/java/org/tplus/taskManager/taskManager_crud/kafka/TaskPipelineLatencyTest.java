@@ -0,0 +1,111 @@
+package org.tplus.taskManager.taskManager_crud.kafka;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.mail.MailSenderAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.tplus.taskManager.taskManager_crud.config.KafkaConfig;
+import org.tplus.taskManager.taskManager_crud.config.MailConfig;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatus;
+import org.tplus.taskManager.taskManager_crud.dto.TaskStatusUpdateDto;
+import org.tplus.taskManager.taskManager_crud.services.NotificationService;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка бюджета задержки конвейера уведомлений: событие изменения статуса проходит через Kafka
+ * и {@link KafkaClientConsumer} до отправленного письма, а {@code task.pipeline.end_to_end}
+ * не должен превышать {@code task-pipeline.latency-budget}.
+ * <p>
+ * Брокер поднимается через {@link EmbeddedKafka}, SMTP-сервер — через GreenMail.
+ * </p>
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@SpringBootTest(classes = TaskPipelineLatencyTest.PipelineConfig.class, properties = {
+        "t_plus_tasks.kafka.localhost=${spring.embedded.kafka.brokers}",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=test@localhost",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "spring.mail.properties.mail.smtp.ssl.enable=false",
+        "spring.main.web-application-type=none"
+})
+@EmbeddedKafka(partitions = 1, topics = "t_plus_tasks_update_status")
+class TaskPipelineLatencyTest {
+
+    private static final String TOPIC = "t_plus_tasks_update_status";
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private KafkaClientProducer kafkaClientProducer;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${task-pipeline.latency-budget}")
+    private Duration latencyBudget;
+
+    @Test
+    void statusUpdateReachesMailboxWithinLatencyBudget() throws Exception {
+        ContainerTestUtils.waitForAssignment(listenerRegistry.getListenerContainer("t_plus_tasks_name"), 1);
+
+        kafkaClientProducer.sendTo(TOPIC, TaskStatusUpdateDto.builder()
+                .id(1L)
+                .userId(1L)
+                .status(TaskStatus.COMPLETED)
+                .build());
+
+        assertThat(greenMail.waitForIncomingEmail(latencyBudget.multipliedBy(2).toMillis(), 1)).isTrue();
+        Timer endToEnd = meterRegistry.get("task.pipeline.end_to_end").timer();
+        long deadline = System.nanoTime() + latencyBudget.toNanos();
+        while (endToEnd.count() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(endToEnd.count()).isEqualTo(1);
+        assertThat(endToEnd.max(TimeUnit.MILLISECONDS)).isLessThanOrEqualTo(latencyBudget.toMillis());
+    }
+
+    /**
+     * Минимальный контекст конвейера: Kafka-клиенты, консьюмер уведомлений и почтовый клиент.
+     */
+    @Configuration
+    @EnableKafka
+    @ImportAutoConfiguration(MailSenderAutoConfiguration.class)
+    @Import({KafkaConfig.class, MailConfig.class, KafkaClientConsumer.class, NotificationService.class,
+            TaskPipelineTracing.class})
+    static class PipelineConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.tplus.taskManager.taskManager_crud.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты адаптивного ограничителя параллельных запросов {@link AdaptiveConcurrencyLimiter}.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void rejectsRequestsAboveLimit() {
+        AdmissionControlProperties.Limit properties = new AdmissionControlProperties.Limit(2, 1, 10);
+        properties.setAdaptive(false);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getRejected()).isEqualTo(1);
+
+        limiter.release(FAST);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileSaturatedAndFast() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new AdmissionControlProperties.Limit(4, 1, 100));
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+        limiter.release(FAST);
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void decreasesAtMostOncePerLimitSamples() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new AdmissionControlProperties.Limit(10, 1, 100));
+        sample(limiter, FAST);
+
+        sample(limiter, SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        for (int i = 0; i < 8; i++) {
+            sample(limiter, SLOW);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        sample(limiter, SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void minimumRttFollowsTheWindow() {
+        AdmissionControlProperties.Limit properties = new AdmissionControlProperties.Limit(10, 1, 100);
+        properties.setMinRttWindow(2);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        sample(limiter, FAST);
+        sample(limiter, FAST);
+
+        // задержка выросла и стала стабильной: после смены окна она становится новым минимумом
+        for (int i = 0; i < 20; i++) {
+            sample(limiter, SLOW);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void neverDropsBelowMinLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new AdmissionControlProperties.Limit(2, 2, 10));
+        sample(limiter, FAST);
+        for (int i = 0; i < 10; i++) {
+            sample(limiter, SLOW);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    private static void sample(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(rttNanos);
+    }
+}
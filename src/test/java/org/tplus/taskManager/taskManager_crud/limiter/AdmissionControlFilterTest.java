@@ -0,0 +1,76 @@
+package org.tplus.taskManager.taskManager_crud.limiter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты выбора ограничителя по классу маршрута в {@link AdmissionControlFilter}.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class AdmissionControlFilterTest {
+
+    private AdaptiveConcurrencyLimiter readLimiter;
+    private AdaptiveConcurrencyLimiter listLimiter;
+    private AdaptiveConcurrencyLimiter writeLimiter;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        readLimiter = fixed();
+        listLimiter = fixed();
+        writeLimiter = fixed();
+        filter = new AdmissionControlFilter(readLimiter, listLimiter, writeLimiter, new AdmissionControlProperties());
+    }
+
+    @Test
+    void saturatedListLimiterDoesNotRejectPointReads() throws Exception {
+        listLimiter.tryAcquire();
+
+        assertThat(statusOf(new MockHttpServletRequest("GET", "/tasks"))).isEqualTo(503);
+        assertThat(statusOf(new MockHttpServletRequest("GET", "/tasks/42"))).isEqualTo(200);
+        assertThat(listLimiter.getRejected()).isEqualTo(1);
+        assertThat(readLimiter.getRejected()).isZero();
+    }
+
+    @Test
+    void idsQueryAndLookupArePointReads() throws Exception {
+        readLimiter.tryAcquire();
+
+        MockHttpServletRequest byIds = new MockHttpServletRequest("GET", "/tasks");
+        byIds.setParameter("ids", "1,2");
+        assertThat(statusOf(byIds)).isEqualTo(503);
+        assertThat(statusOf(new MockHttpServletRequest("POST", "/tasks/lookup"))).isEqualTo(503);
+        assertThat(statusOf(new MockHttpServletRequest("GET", "/tasks"))).isEqualTo(200);
+        assertThat(readLimiter.getRejected()).isEqualTo(2);
+    }
+
+    @Test
+    void writesUseTheirOwnLimiterAndStreamIsExempt() throws Exception {
+        writeLimiter.tryAcquire();
+        listLimiter.tryAcquire();
+
+        assertThat(statusOf(new MockHttpServletRequest("POST", "/tasks"))).isEqualTo(503);
+        assertThat(statusOf(new MockHttpServletRequest("GET", "/tasks/stream"))).isEqualTo(200);
+        assertThat(listLimiter.getRejected()).isZero();
+    }
+
+    private int statusOf(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private static AdaptiveConcurrencyLimiter fixed() {
+        AdmissionControlProperties.Limit properties = new AdmissionControlProperties.Limit(1, 1, 1);
+        properties.setAdaptive(false);
+        return new AdaptiveConcurrencyLimiter(properties);
+    }
+}
@@ -0,0 +1,68 @@
+package org.tplus.taskManager.taskManager_crud.overdue;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты колеса таймеров {@link HashedTimingWheel}.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class HashedTimingWheelTest {
+
+    @Test
+    void expiresTimeoutWhenItsTickIsReached() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(Duration.ofMillis(100), 8, 0);
+        wheel.schedule(1, Instant.ofEpochMilli(350), "task-1");
+
+        assertThat(wheel.advance(299)).isEmpty();
+        assertThat(wheel.advance(300)).containsExactly("task-1");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rescheduleReplacesPreviousDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(Duration.ofMillis(100), 8, 0);
+        wheel.schedule(1, Instant.ofEpochMilli(200), "early");
+        wheel.schedule(1, Instant.ofEpochMilli(500), "late");
+
+        assertThat(wheel.advance(300)).isEmpty();
+        assertThat(wheel.advance(500)).containsExactly("late");
+    }
+
+    @Test
+    void cancelledTimeoutNeverExpires() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(Duration.ofMillis(100), 8, 0);
+        wheel.schedule(1, Instant.ofEpochMilli(200), "task-1");
+
+        assertThat(wheel.cancel(1)).isTrue();
+        assertThat(wheel.cancel(1)).isFalse();
+        assertThat(wheel.advance(10_000)).isEmpty();
+    }
+
+    @Test
+    void deadlineBeyondOneRotationWaitsForItsRound() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(Duration.ofMillis(100), 4, 0);
+        wheel.schedule(1, Instant.ofEpochMilli(1_000), "far");
+
+        assertThat(wheel.advance(200)).isEmpty();
+        assertThat(wheel.advance(600)).isEmpty();
+        assertThat(wheel.advance(900)).isEmpty();
+        assertThat(wheel.advance(1_000)).containsExactly("far");
+    }
+
+    @Test
+    void pastDeadlineExpiresOnNextTick() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(Duration.ofMillis(100), 8, 1_000);
+        wheel.schedule(1, Instant.ofEpochMilli(0), "overdue");
+
+        assertThat(wheel.advance(1_099)).isEmpty();
+        assertThat(wheel.advance(1_100)).containsExactly("overdue");
+    }
+}
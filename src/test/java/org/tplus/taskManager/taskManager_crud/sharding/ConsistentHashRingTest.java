@@ -0,0 +1,56 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Тесты кольца консистентного хеширования {@link ConsistentHashRing}.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void sameConfigurationRoutesKeysIdentically() {
+        ConsistentHashRing first = new ConsistentHashRing(4, 128);
+        ConsistentHashRing second = new ConsistentHashRing(4, 128);
+
+        for (long key = 0; key < 1_000; key++) {
+            assertThat(second.shardFor(key)).isEqualTo(first.shardFor(key));
+        }
+    }
+
+    @Test
+    void keysAreSpreadEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(4, 128);
+        int[] counts = new int[4];
+        for (long key = 0; key < KEYS; key++) {
+            counts[ring.shardFor(key)]++;
+        }
+
+        for (int count : counts) {
+            assertThat(count).isBetween(KEYS / 4 * 7 / 10, KEYS / 4 * 13 / 10);
+        }
+    }
+
+    @Test
+    void addingShardMovesKeysOnlyToTheNewShard() {
+        ConsistentHashRing before = new ConsistentHashRing(4, 128);
+        ConsistentHashRing after = new ConsistentHashRing(5, 128);
+        int moved = 0;
+        for (long key = 0; key < KEYS; key++) {
+            int shard = after.shardFor(key);
+            if (shard != before.shardFor(key)) {
+                assertThat(shard).isEqualTo(4);
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / 5 * 7 / 10, KEYS / 5 * 13 / 10);
+    }
+}
@@ -0,0 +1,54 @@
+package org.tplus.taskManager.taskManager_crud.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Тесты генератора идентификаторов {@link Snowflake}.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class SnowflakeTest {
+
+    @Test
+    void idCarriesShardAndCreationTime() {
+        Snowflake snowflake = new Snowflake(5);
+        long before = System.currentTimeMillis();
+        long id = snowflake.nextId(3);
+        long after = System.currentTimeMillis();
+
+        assertThat(Snowflake.shardOf(id)).isEqualTo(3);
+        assertThat(Snowflake.timestampOf(id)).isBetween(before, after + 1);
+    }
+
+    @Test
+    void idsAreStrictlyIncreasingWhenSequenceOverflows() {
+        Snowflake snowflake = new Snowflake(0);
+        long previous = snowflake.nextId(0);
+        // больше 1024 идентификаторов за миллисекунду переполняют последовательность
+        for (int i = 0; i < 10_000; i++) {
+            long id = snowflake.nextId(Snowflake.MAX_SHARDS - 1);
+            assertThat(id).isGreaterThan(previous);
+            assertThat(Snowflake.shardOf(id)).isEqualTo(Snowflake.MAX_SHARDS - 1);
+            previous = id;
+        }
+    }
+
+    @Test
+    void workersProduceDifferentIdsAtTheSameTime() {
+        long first = new Snowflake(1).nextId(0);
+        long second = new Snowflake(2).nextId(0);
+
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    void rejectsWorkerIdOutOfRange() {
+        assertThatThrownBy(() -> new Snowflake(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Snowflake(Snowflake.MAX_WORKERS)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
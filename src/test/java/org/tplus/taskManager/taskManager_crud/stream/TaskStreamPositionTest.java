@@ -0,0 +1,44 @@
+package org.tplus.taskManager.taskManager_crud.stream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Тесты позиции потока событий {@link TaskStreamPosition}.
+ *
+ * @author Бадиков Дмитрий
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class TaskStreamPositionTest {
+
+    @Test
+    void positionSurvivesRoundTripThroughLastEventId() {
+        TaskStreamPosition position = TaskStreamPosition.empty();
+        position.advance(1, 7);
+        position.advance(0, 42);
+        position.advance(1, 3);
+
+        TaskStreamPosition parsed = TaskStreamPosition.parse(position.toString());
+
+        assertThat(position.toString()).isEqualTo("0:42,1:7");
+        assertThat(parsed.toString()).isEqualTo(position.toString());
+    }
+
+    @Test
+    void coversOnlyReadOffsetsOfKnownPartitions() {
+        TaskStreamPosition position = TaskStreamPosition.parse("0:10");
+
+        assertThat(position.covers(0, 10)).isTrue();
+        assertThat(position.covers(0, 11)).isFalse();
+        assertThat(position.covers(1, 0)).isFalse();
+    }
+
+    @Test
+    void rejectsMalformedValue() {
+        assertThatThrownBy(() -> TaskStreamPosition.parse("42")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskStreamPosition.parse("0:x")).isInstanceOf(IllegalArgumentException.class);
+    }
+}